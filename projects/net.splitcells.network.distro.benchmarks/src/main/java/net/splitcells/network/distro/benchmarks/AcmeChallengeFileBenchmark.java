@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.benchmarks;
+
+import net.splitcells.network.distro.java.acme.AcmeChallengeFile;
+import net.splitcells.website.server.processor.BinaryMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static net.splitcells.dem.Dem.process;
+import static net.splitcells.network.distro.java.acme.AcmeChallengeFile.acmeChallengeFile;
+
+/**
+ * {@link AcmeChallengeFile#renderFile} is called for nearly every request,
+ * but almost all of these requests are not ACME challenges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AcmeChallengeFileBenchmark {
+    private AcmeChallengeFile acmeChallengeFile;
+
+    @Setup
+    public void setup() {
+        process(() -> acmeChallengeFile = acmeChallengeFile(), env -> {
+        });
+    }
+
+    /**
+     * The projects renderer and the config are not required for paths, that are not ACME challenges.
+     *
+     * @return The rendered file, which is never present.
+     */
+    @Benchmark
+    public Optional<BinaryMessage> renderNonAcmePath() {
+        return acmeChallengeFile.renderFile("/net/splitcells/network/hub/README.html", null, null);
+    }
+}
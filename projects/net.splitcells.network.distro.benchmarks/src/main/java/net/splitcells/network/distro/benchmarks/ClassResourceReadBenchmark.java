@@ -0,0 +1,86 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.benchmarks;
+
+import net.splitcells.dem.resource.FileSystemView;
+import net.splitcells.network.distro.java.NetworkDistroJavaFileSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static net.splitcells.dem.resource.FileSystemViaClassResources.fileSystemViaClassResources;
+import static net.splitcells.network.distro.java.MappedFileSystemView.mappedFileSystemView;
+
+/**
+ * <p>Reads the class resources of {@link NetworkDistroJavaFileSystem}
+ * with and without {@link net.splitcells.network.distro.java.MemoryMappedClassResources}.</p>
+ * <p>{@link #readFileAsBytes()} copies the content into a new array in both cases,
+ * so it only compares the inflation of the jar entries with a copy out of the mapping.
+ * {@link #inputStream()} streams the content into a reused buffer instead,
+ * which reads directly from the mapping and therefore does not allocate a copy of the file per request.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassResourceReadBenchmark {
+    @Param({"true", "false"})
+    public boolean memoryMapped;
+
+    private FileSystemView resources;
+    private List<Path> files;
+    private int nextFile = 0;
+    private final byte[] buffer = new byte[8192];
+
+    @Setup
+    public void setup() {
+        final var classResources = fileSystemViaClassResources(NetworkDistroJavaFileSystem.class, "net.splitcells"
+                , "network.distro.java");
+        if (memoryMapped) {
+            resources = mappedFileSystemView(classResources);
+        } else {
+            resources = classResources;
+        }
+        try (final var paths = resources.walkRecursively()) {
+            files = paths.filter(resources::isFile).limit(64).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public byte[] readFileAsBytes() {
+        return resources.readFileAsBytes(nextFile());
+    }
+
+    @Benchmark
+    public long inputStream() throws IOException {
+        long length = 0;
+        try (final var input = resources.inputStream(nextFile())) {
+            for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+                length += read;
+            }
+        }
+        return length;
+    }
+
+    private Path nextFile() {
+        nextFile = (nextFile + 1) % files.size();
+        return files.get(nextFile);
+    }
+}
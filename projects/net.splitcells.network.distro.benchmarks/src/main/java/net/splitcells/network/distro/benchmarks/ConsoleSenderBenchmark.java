@@ -0,0 +1,73 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.benchmarks;
+
+import net.splitcells.dem.resource.communication.Sender;
+import net.splitcells.network.distro.java.AsyncLogCapacity;
+import net.splitcells.network.distro.java.AsyncLogOverflowPolicy;
+import net.splitcells.network.distro.java.AsyncSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static ch.qos.logback.classic.util.ContextInitializer.CONFIG_FILE_PROPERTY;
+import static net.splitcells.network.distro.java.AsyncSender.asyncSender;
+import static net.splitcells.network.distro.java.Slf4jCell.loggerSender;
+
+/**
+ * <p>Measures the time a caller spends on sending a message to the console of
+ * {@link net.splitcells.network.distro.java.Slf4jCell},
+ * which is either written directly via {@link net.splitcells.network.distro.java.Slf4jCell#loggerSender(org.slf4j.Logger)}
+ * or via an {@link AsyncSender} with the default config, like it is done by the cell.</p>
+ * <p>The logback config of the distro is used, so that the messages are written to the same kind of log file.
+ * The log files are located in the state folder of the program `benchmarks`.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleSenderBenchmark {
+    @Param({"true", "false"})
+    public boolean asynchronous;
+
+    private Sender<String> console;
+
+    @Setup
+    public void setup() {
+        System.setProperty("net.splitcells.dem.environment.config.ProgramName", "benchmarks");
+        System.setProperty(CONFIG_FILE_PROPERTY, "net/splitcells/network/distro/java/logback/config.xml");
+        final var logger = LoggerFactory.getLogger("benchmarks");
+        final var loggerSender = loggerSender(logger);
+        if (asynchronous) {
+            console = asyncSender(loggerSender, new AsyncLogCapacity().defaultValue()
+                    , new AsyncLogOverflowPolicy().defaultValue());
+        } else {
+            console = loggerSender;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        console.close();
+    }
+
+    @Benchmark
+    public void append() {
+        console.append("Benchmark message.");
+    }
+}
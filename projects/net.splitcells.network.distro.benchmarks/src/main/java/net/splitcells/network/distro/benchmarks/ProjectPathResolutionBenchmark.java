@@ -0,0 +1,129 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.benchmarks;
+
+import net.splitcells.dem.Dem;
+import net.splitcells.dem.resource.FileSystemView;
+import net.splitcells.dem.utils.StringUtils;
+import net.splitcells.network.distro.java.NetworkDistroJavaFileSystem;
+import net.splitcells.network.distro.java.ProjectPathIndex;
+import net.splitcells.website.Format;
+import net.splitcells.website.server.Config;
+import net.splitcells.website.server.processor.BinaryMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static net.splitcells.dem.resource.FileSystemViaClassResources.fileSystemViaClassResources;
+import static net.splitcells.network.distro.java.ProjectPathIndex.projectPathIndex;
+import static net.splitcells.network.distro.java.RenderedPageCache.renderedPageCache;
+
+/**
+ * <p>Compares the resolution of request paths across stacked projects,
+ * like the ones registered by {@link net.splitcells.network.distro.java.DistroCell#config(Config)}.
+ * The linear probing asks every project one after another, like the regular rendering of the projects.
+ * The indexed lookup uses {@link ProjectPathIndex#renderFile(String, java.util.function.Supplier)}.</p>
+ * <p>Each project is a minimal {@link ProjectPathIndex.IndexedProject},
+ * which only checks the presence of the file and returns a constant page,
+ * so that the rendering itself is not part of the measurement.
+ * No pages are cached, so that the measurement is not dominated by the {@link net.splitcells.network.distro.java.RenderedPageCache}.</p>
+ * <p>The requested paths are located in the last project and one path is not present at all,
+ * which are the expensive cases for the linear probing.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectPathResolutionBenchmark {
+    private static final Optional<BinaryMessage> PAGE = Optional.of(BinaryMessage
+            .binaryMessage(StringUtils.toBytes("page"), Format.TEXT_PLAIN));
+
+    private List<ProjectPathIndex.IndexedProject> projects;
+    private ProjectPathIndex pathIndex;
+    private List<String> paths;
+    private int nextPath = 0;
+
+    @Setup
+    public void setup() {
+        final var fileSystems = List.of(fileSystemViaClassResources(Dem.class, "net.splitcells", "dem")
+                , fileSystemViaClassResources(Config.class, "net.splitcells", "website.server")
+                , fileSystemViaClassResources(NetworkDistroJavaFileSystem.class, "net.splitcells"
+                        , "network.distro.java"));
+        projects = fileSystems.stream().map(StubProject::new).collect(Collectors.toList());
+        pathIndex = projectPathIndex(renderedPageCache(0, 0));
+        final var lastProject = fileSystems.get(fileSystems.size() - 1);
+        try (final var files = lastProject.walkRecursively()) {
+            paths = new ArrayList<>(files.filter(lastProject::isFile)
+                    .limit(64)
+                    .map(file -> "/" + file)
+                    .collect(Collectors.toList()));
+        }
+        paths.add("/not/present/index.html");
+        pathIndex.renderFile(paths.get(0), () -> projects);
+    }
+
+    @Benchmark
+    public Optional<BinaryMessage> linearProbing() {
+        final var path = nextPath();
+        for (final var project : projects) {
+            final var page = project.render(path);
+            if (page.isPresent()) {
+                return page;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Benchmark
+    public Optional<BinaryMessage> indexedLookup() {
+        return pathIndex.renderFile(nextPath(), () -> projects);
+    }
+
+    private String nextPath() {
+        nextPath = (nextPath + 1) % paths.size();
+        return paths.get(nextPath);
+    }
+
+    private static final class StubProject implements ProjectPathIndex.IndexedProject {
+        private final FileSystemView fileSystem;
+        private final List<Path> projectPaths;
+
+        private StubProject(FileSystemView fileSystem) {
+            this.fileSystem = fileSystem;
+            try (final var files = fileSystem.walkRecursively()) {
+                projectPaths = files.filter(fileSystem::isFile).collect(Collectors.toUnmodifiableList());
+            }
+        }
+
+        @Override
+        public Collection<Path> projectPaths() {
+            return projectPaths;
+        }
+
+        @Override
+        public Optional<BinaryMessage> render(String path) {
+            if (fileSystem.isFile(Path.of(path.substring(1)))) {
+                return PAGE;
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.data.set.Set;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.FileSystemView;
+import net.splitcells.dem.resource.communication.log.LogLevel;
+import net.splitcells.website.Format;
+import net.splitcells.website.server.Config;
+import net.splitcells.website.server.processor.BinaryMessage;
+import net.splitcells.website.server.projects.ProjectsRendererI;
+import net.splitcells.website.server.projects.RenderRequest;
+import net.splitcells.website.server.projects.extension.ProjectsRendererExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+
+import static net.splitcells.dem.data.set.Sets.setOfUniques;
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.FileSystemViaClassResources.fileSystemViaClassResources;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Concatenates multiple JavaScript files of the website server into one file at the startup,
+ * so that a page only needs one request for these instead of one request per file.</p>
+ * <p>The name of the bundle contains the hash of its content.
+ * Therefore, a changed bundle has a different path and
+ * the bundle can be cached by the browsers forever.</p>
+ * <p>The files are concatenated in the given order, so that dependencies between the files are kept.</p>
+ * <p>CSS files are not bundled, because the bundle is located in another folder,
+ * which would break the relative `url(...)` references of the CSS files.</p>
+ */
+@JavaLegacy
+public class AssetBundle implements ProjectsRendererExtension {
+    private static final String BUNDLE_FOLDER = "net/splitcells/network/distro/java/bundle/";
+    private static final String WEBSITE_RESOURCES = "src/main/resources/html/";
+
+    /**
+     * @param name   The name of the bundle without the hash and file suffix.
+     * @param suffix The file suffix of the bundle like `.js`.
+     * @param format The format of the bundle.
+     * @param files  The paths of the bundled files, as these are registered in the {@link Config}.
+     * @return The bundle, if all files are present in the website server's resources.
+     */
+    public static Optional<AssetBundle> assetBundle(String name, String suffix, Format format, List<String> files) {
+        return assetBundle(name, suffix, format, files
+                , fileSystemViaClassResources(Config.class, "net.splitcells", "website.server"));
+    }
+
+    public static Optional<AssetBundle> assetBundle(String name, String suffix, Format format, List<String> files
+            , FileSystemView sources) {
+        final var content = new ByteArrayOutputStream();
+        for (final var file : files) {
+            final var source = Path.of(WEBSITE_RESOURCES + file);
+            if (!sources.isFile(source)) {
+                logs().append(tree("Could not find file for asset bundle. The files are served individually instead.")
+                                .withProperty("bundle", name + suffix)
+                                .withProperty("missing file", source.toString())
+                        , LogLevel.WARNING);
+                return Optional.empty();
+            }
+            content.writeBytes(sources.readFileAsBytes(source));
+            // The line break prevents that the last statement of one file and the first one of the next file merge.
+            content.writeBytes("\n".getBytes(StandardCharsets.UTF_8));
+        }
+        final var bytes = content.toByteArray();
+        return Optional.of(new AssetBundle(BUNDLE_FOLDER + name + "." + hash(bytes) + suffix, format, bytes));
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            final var hash = new StringBuilder();
+            for (final var b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw execException(e);
+        }
+    }
+
+    private final String path;
+    private final String requestPath;
+    private final Format format;
+    private final byte[] content;
+
+    private AssetBundle(String path, Format format, byte[] content) {
+        this.path = path;
+        this.requestPath = "/" + path;
+        this.format = format;
+        this.content = content;
+    }
+
+    /**
+     * @return The content hashed path of the bundle, which can be registered at the {@link Config}.
+     */
+    public String path() {
+        return path;
+    }
+
+    @Override
+    public Optional<BinaryMessage> renderFile(String argPath, ProjectsRendererI projectsRenderer, Config config) {
+        if (requestPath.equals(argPath)) {
+            return Optional.of(BinaryMessage.binaryMessage(content, format));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean requiresAuthentication(RenderRequest request) {
+        return false;
+    }
+
+    @Override
+    public Set<Path> projectPaths(ProjectsRendererI projectsRenderer) {
+        return setOfUniques(Path.of(path));
+    }
+}
@@ -0,0 +1,32 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+import net.splitcells.website.Format;
+
+import java.util.List;
+import java.util.Map;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.AssetBundle.assetBundle;
+import static net.splitcells.network.distro.java.MapFileSystemView.mapFileSystemView;
+
+public class AssetBundleTest {
+    @UnitTest
+    public void testContentHashedPath() {
+        final var sources = mapFileSystemView(Map.of("src/main/resources/html/a.js", "a();"
+                , "src/main/resources/html/b.js", "b();"));
+        final var bundle = assetBundle("background", ".js", Format.JAVASCRIPT, List.of("a.js", "b.js"), sources)
+                .orElseThrow();
+        requireEquals(bundle.path().startsWith("net/splitcells/network/distro/java/bundle/background."), true);
+        requireEquals(bundle.path().endsWith(".js"), true);
+        requireEquals(bundle.path(), assetBundle("background", ".js", Format.JAVASCRIPT, List.of("a.js", "b.js")
+                , sources).orElseThrow().path());
+        requireEquals(bundle.path().equals(assetBundle("background", ".js", Format.JAVASCRIPT, List.of("b.js", "a.js")
+                , sources).orElseThrow().path()), false);
+        requireEquals(bundle.renderFile("/" + bundle.path(), null, null).isPresent(), true);
+        requireEquals(bundle.renderFile("/a.js", null, null).isPresent(), false);
+    }
+}
@@ -0,0 +1,15 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * This is the maximum number of log messages, that are buffered by the {@link AsyncSender} of the {@link Slf4jCell}.
+ */
+public class AsyncLogCapacity implements Option<Integer> {
+    @Override public Integer defaultValue() {
+        return 65_536;
+    }
+}
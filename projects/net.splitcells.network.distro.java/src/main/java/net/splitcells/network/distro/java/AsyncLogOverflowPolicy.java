@@ -0,0 +1,15 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * Determines, what happens with new log messages, when the {@link AsyncSender} of the {@link Slf4jCell} is full.
+ */
+public class AsyncLogOverflowPolicy implements Option<AsyncSender.OverflowPolicy> {
+    @Override public AsyncSender.OverflowPolicy defaultValue() {
+        return AsyncSender.OverflowPolicy.BLOCK;
+    }
+}
@@ -0,0 +1,199 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.data.set.list.AppendableList;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.communication.Sender;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>Decouples the callers of {@link #append(String)} from the given {@link Sender},
+ * so that callers do not have to wait for the disk I/O of the {@link Sender}.
+ * The messages are stored in a bounded lock-free queue and
+ * are written in batches to the {@link Sender} by a daemon thread.
+ * The {@link Sender} is flushed once per batch.
+ * Other writes, that have to keep their order relative to the messages, are queued via {@link #execute(Runnable)}.</p>
+ * <p>If the queue is full, the {@link OverflowPolicy} determines, what happens with new messages.</p>
+ * <p>If a message cannot be written, the error is reported via the {@link Thread.UncaughtExceptionHandler}
+ * of the writer thread and the writer continues with the next message.
+ * Errors cannot be reported via the logs, as the logs may be written via this.</p>
+ * <p>{@link #flush()} waits until all messages appended before the call are written and
+ * the {@link Sender} is flushed.
+ * Messages appended after {@link #close()} are written synchronously by the caller,
+ * so that messages logged during the shutdown are not lost.</p>
+ */
+@JavaLegacy
+public class AsyncSender implements Sender<String>, Executor {
+    public static AsyncSender asyncSender(Sender<String> sender, int capacity, OverflowPolicy overflowPolicy) {
+        return new AsyncSender(sender, capacity, overflowPolicy);
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * The caller waits until there is space in the queue, so that no message is lost.
+         */
+        BLOCK,
+        /**
+         * The new message is dropped, so that the caller never waits.
+         */
+        DROP
+    }
+
+    private static final int BATCH_SIZE = 512;
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final Sender<String> sender;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean isClosed = false;
+
+    private AsyncSender(Sender<String> sender, int capacity, OverflowPolicy overflowPolicy) {
+        this.sender = sender;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        writer = new Thread(this::write, "Asynchronous log writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public <R extends AppendableList<String>> R append(String arg) {
+        execute(() -> sender.append(arg));
+        return (R) this;
+    }
+
+    /**
+     * Queues a write, that is not a message for the {@link Sender},
+     * but has to be done in the same order as the messages.
+     * The {@link OverflowPolicy} is applied to it as well.
+     *
+     * @param write This is run by the writer thread.
+     */
+    @Override
+    public void execute(Runnable write) {
+        if (isClosed) {
+            writeSynchronously(write);
+            return;
+        }
+        while (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            if (OverflowPolicy.DROP.equals(overflowPolicy)) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        queue.offer(write);
+        enqueued.incrementAndGet();
+        LockSupport.unpark(writer);
+        if (isClosed && Thread.currentThread() != writer) {
+            // The writer may have stopped, before the write was queued.
+            awaitWriter();
+            writeSynchronously(null);
+        }
+    }
+
+    private void write() {
+        while (!isClosed || !queue.isEmpty()) {
+            int batchSize = 0;
+            Runnable write;
+            while (batchSize < BATCH_SIZE && (write = queue.poll()) != null) {
+                size.decrementAndGet();
+                run(write);
+                ++batchSize;
+            }
+            if (batchSize > 0) {
+                run(sender::flush);
+                written.addAndGet(batchSize);
+            } else {
+                LockSupport.parkNanos(MAX_IDLE_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes all queued messages and then the given one.
+     * This is only used, after the writer thread is stopped.
+     *
+     * @param write This is ignored, if it is null.
+     */
+    private synchronized void writeSynchronously(Runnable write) {
+        Runnable queued;
+        while ((queued = queue.poll()) != null) {
+            size.decrementAndGet();
+            run(queued);
+            written.incrementAndGet();
+        }
+        if (write != null) {
+            run(write);
+        }
+        run(sender::flush);
+    }
+
+    private void run(Runnable write) {
+        try {
+            write.run();
+        } catch (Throwable t) {
+            failed.incrementAndGet();
+            writer.getUncaughtExceptionHandler().uncaughtException(writer, t);
+        }
+    }
+
+    private void awaitWriter() {
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The number of messages, that were dropped because of {@link OverflowPolicy#DROP}.
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return The number of messages, that could not be written because of an error.
+     */
+    public long failed() {
+        return failed.get();
+    }
+
+    @Override
+    public void flush() {
+        final var target = enqueued.get();
+        while (written.get() < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        sender.flush();
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        LockSupport.unpark(writer);
+        awaitWriter();
+        writeSynchronously(null);
+        sender.close();
+    }
+}
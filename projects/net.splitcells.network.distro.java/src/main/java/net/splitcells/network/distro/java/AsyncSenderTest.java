@@ -0,0 +1,93 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.data.set.list.AppendableList;
+import net.splitcells.dem.resource.communication.Sender;
+import net.splitcells.dem.testing.annotations.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.AsyncSender.asyncSender;
+
+public class AsyncSenderTest {
+    @UnitTest
+    public void testFlush() {
+        final var messages = Collections.synchronizedList(new ArrayList<String>());
+        final var testSubject = asyncSender(collectingSender(messages), 16, AsyncSender.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 1000; ++i) {
+            testSubject.append("" + i);
+        }
+        testSubject.flush();
+        requireEquals(messages.size(), 1000);
+        requireEquals(messages.get(999), "999");
+        testSubject.close();
+    }
+
+    /**
+     * A failing message must not stop the writer, as otherwise callers with {@link AsyncSender.OverflowPolicy#BLOCK}
+     * would wait forever.
+     */
+    @UnitTest
+    public void testFailingMessage() {
+        final var messages = Collections.synchronizedList(new ArrayList<String>());
+        final var collectingSender = collectingSender(messages);
+        final var testSubject = asyncSender(new Sender<>() {
+            @Override
+            public <R extends AppendableList<String>> R append(String arg) {
+                if ("fail".equals(arg)) {
+                    throw new IllegalStateException("Test failure.");
+                }
+                return collectingSender.append(arg);
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void flush() {
+            }
+        }, 4, AsyncSender.OverflowPolicy.BLOCK);
+        testSubject.append("fail");
+        for (int i = 0; i < 100; ++i) {
+            testSubject.append("" + i);
+        }
+        testSubject.flush();
+        requireEquals(messages.size(), 100);
+        requireEquals(testSubject.failed(), 1L);
+        testSubject.close();
+    }
+
+    @UnitTest
+    public void testAppendAfterClose() {
+        final var messages = Collections.synchronizedList(new ArrayList<String>());
+        final var testSubject = asyncSender(collectingSender(messages), 16, AsyncSender.OverflowPolicy.BLOCK);
+        testSubject.append("before");
+        testSubject.close();
+        testSubject.append("after");
+        requireEquals(messages, List.of("before", "after"));
+    }
+
+    private static Sender<String> collectingSender(List<String> messages) {
+        return new Sender<>() {
+            @Override
+            public <R extends AppendableList<String>> R append(String arg) {
+                messages.add(arg);
+                return (R) this;
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+import static net.splitcells.network.distro.java.StructuredLog.logsBasedStructuredLog;
+
+/**
+ * <p>This is the log for messages, whose properties should be kept as separate values,
+ * so that these can be queried later.
+ * By default, the messages are rendered via {@link net.splitcells.dem.resource.communication.log.Logs}.
+ * {@link Slf4jCell} replaces this with a {@link Slf4jStructuredLog}.</p>
+ */
+public class CurrentStructuredLog implements Option<StructuredLog> {
+    @Override public StructuredLog defaultValue() {
+        return logsBasedStructuredLog();
+    }
+}
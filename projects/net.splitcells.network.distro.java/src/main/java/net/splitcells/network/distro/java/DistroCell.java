@@ -22,30 +22,47 @@ import net.splitcells.dem.data.set.list.AppendableList;
 import net.splitcells.dem.environment.Cell;
 import net.splitcells.dem.environment.Environment;
 import net.splitcells.dem.environment.config.ProgramName;
+import net.splitcells.dem.environment.config.framework.Option;
 import net.splitcells.dem.environment.resource.Console;
 import net.splitcells.dem.environment.resource.Service;
 import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.ConfigFileSystem;
+import net.splitcells.dem.resource.FileSystemView;
 import net.splitcells.dem.resource.communication.Sender;
 import net.splitcells.dem.resource.communication.log.Logs;
 import net.splitcells.dem.resource.communication.log.MessageFilter;
 import net.splitcells.dem.utils.ExecutionException;
 import net.splitcells.network.community.NetworkCommunityFileSystem;
-import net.splitcells.network.distro.java.acme.CurrentAcmeAuthorization;
+import net.splitcells.network.distro.java.acme.CurrentPublicKeyCryptoConfig;
+import net.splitcells.network.distro.java.acme.CurrentSslContext;
+import net.splitcells.network.distro.java.acme.OcspResponderUri;
+import net.splitcells.network.distro.java.acme.SelfSignedKeyPairs;
+import net.splitcells.network.distro.java.acme.TlsSessionTicketKeyLifetime;
+import net.splitcells.network.distro.java.h2.EnableLogStore;
+import net.splitcells.network.distro.java.h2.LogStoreCell;
 import net.splitcells.network.hub.NetworkHubFileSystem;
 import net.splitcells.network.log.NetworkLogFileSystem;
 import net.splitcells.network.media.NetworkMediaFileSystem;
 import net.splitcells.network.presentations.NetworkPresentationsFileSystem;
 import net.splitcells.network.system.SystemCell;
 import net.splitcells.network.worker.via.java.NetworkWorkerLogFileSystem;
+import net.splitcells.website.Format;
 import net.splitcells.website.binaries.BinaryFileSystem;
 import net.splitcells.website.server.Config;
 import net.splitcells.website.server.ServerConfig;
+import net.splitcells.website.server.config.PublicContactEMailAddress;
+import net.splitcells.website.server.config.PublicDomain;
 import net.splitcells.website.server.projects.extension.ProjectsRendererExtensions;
 import org.slf4j.LoggerFactory;
 
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import static ch.qos.logback.classic.util.ContextInitializer.CONFIG_FILE_PROPERTY;
@@ -55,7 +72,18 @@ import static net.splitcells.dem.resource.communication.Sender.stringSender;
 import static net.splitcells.dem.resource.communication.log.CommonMarkLogger.commonMarkDui;
 import static net.splitcells.dem.resource.communication.log.LogLevel.TRACE;
 import static net.splitcells.dem.utils.ExecutionException.execException;
+import static net.splitcells.network.distro.java.AssetBundle.assetBundle;
+import static net.splitcells.network.distro.java.LazyFileSystemView.lazyFileSystemView;
+import static net.splitcells.network.distro.java.ProjectPathIndex.projectPathIndex;
+import static net.splitcells.network.distro.java.ReadinessProbe.globalReadinessProbe;
+import static net.splitcells.network.distro.java.RenderedPageCache.renderedPageCache;
+import static net.splitcells.network.distro.java.ShutdownCoordinator.globalShutdownCoordinator;
+import static net.splitcells.network.distro.java.StartupProfiler.startupProfiler;
+import static net.splitcells.network.distro.java.StartupStatus.globalStartupStatus;
 import static net.splitcells.network.distro.java.acme.AcmeChallengeFile.acmeChallengeFile;
+import static net.splitcells.network.distro.java.acme.CurrentSslContext.currentSslContext;
+import static net.splitcells.network.distro.java.acme.PublicKeyCryptoConfigurator.currentPublicKeyCryptoConfig;
+import static net.splitcells.network.distro.java.acme.TlsHandshakeOptimizations.enableTlsHandshakeOptimizations;
 import static net.splitcells.website.server.ProjectConfig.projectConfig;
 
 @JavaLegacy
@@ -76,38 +104,183 @@ public class DistroCell implements Cell {
 
     @Override
     public void accept(Environment env) {
-        env.withCell(SystemCell.class);
-        config(env.config().configValue(ServerConfig.class));
-        env.config().withConfigValue(NetworkLogFileSystem.class, env.config().configValue(NetworkWorkerLogFileSystem.class));
+        globalShutdownCoordinator().withEnvironment(env);
+        startupProfiler().logSummaryWhenReady(env);
+        startupProfiler().phase("network.distro.java.DistroCell", () -> {
+            // The JDK reads these settings, when its TLS implementation is used for the first time.
+            enableTlsHandshakeOptimizations(env.config().configValue(TlsSessionTicketKeyLifetime.class)
+                    , env.config().configValue(OcspResponderUri.class));
+            globalStartupStatus().report("Initializing system.");
+            startupProfiler().phase("SystemCell", () -> env.withCell(SystemCell.class));
+            if (isPubliclySecured(env)) {
+                // The key pairs are only used for the self-signed certificate of a secured server.
+                env.config().configValue(SelfSignedKeyPairs.class).start();
+            }
+            globalStartupStatus().report("Registering projects.");
+            config(env.config().configValue(ServerConfig.class));
+            if (env.config().configValue(EnableLogStore.class)) {
+                startupProfiler().phase("LogStoreCell", () -> env.withCell(LogStoreCell.class));
+            }
+            if (isPubliclySecured(env)) {
+                startupProfiler().phase("Provide TLS context", () -> env.config().configValue(ServerConfig.class)
+                        .withSslContext(currentSslContext(currentPublicKeyCryptoConfig())));
+            }
+            globalReadinessProbe().target(firstPage(env.config().configValue(ServerConfig.class))
+                    , isPubliclySecured(env)
+                            ? Optional.of(currentPublicKeyCryptoConfig().value().orElseThrow().certificate())
+                            : Optional.empty());
+            globalStartupStatus().report("Starting server.");
+            env.config().withConfigValue(NetworkLogFileSystem.class, env.config().configValue(NetworkWorkerLogFileSystem.class));
+        });
     }
 
+    /**
+     * <p>If this is true, the TLS context of {@link CurrentSslContext} is provided to the server via its {@link ServerConfig}.
+     * The context always uses the current certificate of {@link CurrentPublicKeyCryptoConfig},
+     * so that certificates provided later via ACME or renewed certificates are served without a restart.
+     * The default TLS context of the JVM is not changed,
+     * because it is used by the clients of this program, like the ACME client.</p>
+     *
+     * @param env The environment of the server.
+     * @return Whether the server is secured and a public domain with a contact is configured.
+     */
+    private static boolean isPubliclySecured(Environment env) {
+        return env.config().configValue(ServerConfig.class).isSecured()
+                && env.config().configValue(PublicDomain.class).isPresent()
+                && env.config().configValue(PublicContactEMailAddress.class).isPresent();
+    }
+
+    /**
+     * @param serverConfig The config of the server.
+     * @return The first page of the local server, which is requested by the {@link ReadinessProbe}.
+     */
+    private static URI firstPage(ServerConfig serverConfig) {
+        return URI.create((serverConfig.isSecured() ? "https" : "http")
+                + "://localhost:" + serverConfig.openPort() + "/index.html");
+    }
+
+    /**
+     * The resolution of the {@link FileSystemView} of a project is recorded by the {@link StartupProfiler},
+     * as this creates the file system of the project.
+     *
+     * @param fileSystem The option of the file system of a project.
+     * @return The file system.
+     */
+    private static <T> T profiledConfigValue(Class<? extends Option<T>> fileSystem) {
+        return startupProfiler().phase("Resolve " + fileSystem.getSimpleName(), () -> configValue(fileSystem));
+    }
+
+    /**
+     * This is the folder in the {@link ConfigFileSystem}, where the listings of the lazy projects are stored.
+     */
+    private static final String LAZY_PROJECT_LISTINGS = "net/splitcells/network/distro/java/lazy-projects";
+
+    /**
+     * @param fileSystem   The option of the file system of a heavy project.
+     * @param pathIndex    This is updated, when the created file system has other paths than its stored listing.
+     * @param lazyProjects The file system is added to these, if it is created lazily.
+     * @return The file system of the project, which is created on its first access, if {@link LazyProjects} is set.
+     */
+    private static FileSystemView lazyConfigValue(Class<? extends Option<FileSystemView>> fileSystem
+            , ProjectPathIndex pathIndex
+            , List<LazyFileSystemView> lazyProjects) {
+        if (!configValue(LazyProjects.class)) {
+            return profiledConfigValue(fileSystem);
+        }
+        // The environment is captured, because the file system may be created by a thread without an environment.
+        final var environment = environment();
+        final var configFileSystem = configValue(ConfigFileSystem.class);
+        configFileSystem.createDirectoryPath(LAZY_PROJECT_LISTINGS);
+        final var listing = configFileSystem
+                .javaLegacyPath(Path.of("./", LAZY_PROJECT_LISTINGS.split("/")).resolve(fileSystem.getName() + ".txt"))
+                .orElseThrow();
+        final var lazyProject = lazyFileSystemView(() -> environment.config().configValue(fileSystem), listing
+                , buildVersion(fileSystem), pathIndex::refresh);
+        lazyProjects.add(lazyProject);
+        return lazyProject;
+    }
+
+    /**
+     * The jar of a project is replaced by an upgrade, which changes its modification time and size.
+     * If the option is not located in a jar, like during development,
+     * the version is unique for each run, so that the listing is created again at the startup.
+     *
+     * @param fileSystem The option of the file system of a project.
+     * @return Identifies the build of the jar, that contains the option.
+     */
+    private static String buildVersion(Class<?> fileSystem) {
+        try {
+            final var location = Path.of(fileSystem.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isRegularFile(location)) {
+                return location + ":" + Files.getLastModifiedTime(location).toMillis() + ":" + Files.size(location);
+            }
+        } catch (Exception e) {
+            // The version of the run is used instead.
+        }
+        return "run " + ProcessHandle.current().pid() + ":" + System.currentTimeMillis();
+    }
+
+    /**
+     * <p>The projects, that are not required by most instances, are created lazily via {@link LazyProjects}.
+     * If {@link LazyProjectWarmUp} is set, these are created in a background thread instead.</p>
+     *
+     * @param arg The config, where the projects are registered.
+     * @return The given config.
+     */
     public static Config config(Config arg) {
-        return arg
+        final var renderedPageCache = renderedPageCache(configValue(RenderedPageCacheSize.class)
+                , configValue(RenderedPageCacheMaxPageSize.class));
+        final var pathIndex = projectPathIndex(renderedPageCache);
+        final var lazyProjects = new ArrayList<LazyFileSystemView>();
+        // The logs are the only projects, whose paths change during the runtime.
+        final var workerLogs = profiledConfigValue(NetworkWorkerLogFileSystem.class);
+        final var networkLogs = profiledConfigValue(NetworkLogFileSystem.class);
+        pathIndex.watch(workerLogs).watch(networkLogs).start(configValue(ProjectPathIndexCheckInterval.class));
+        globalShutdownCoordinator().register("Stop project path index watcher.", pathIndex::close);
+        final var community = lazyConfigValue(NetworkCommunityFileSystem.class, pathIndex, lazyProjects);
+        final var hub = profiledConfigValue(NetworkHubFileSystem.class);
+        final var presentations = lazyConfigValue(NetworkPresentationsFileSystem.class, pathIndex, lazyProjects);
+        final var cinText = lazyConfigValue(CinTextFileSystem.class, pathIndex, lazyProjects);
+        renderedPageCache.withCachedProject("/net/splitcells/network/hub/", hub)
+                .withCachedProject("/net/splitcells/network/community/", community)
+                .withCachedProject("/net/splitcells/network/presentations/", presentations)
+                .withCachedProject("/net/splitcells/cin/text/", cinText);
+        arg
                 .withAdditionalProject(projectConfig("/",
-                        configValue(NetworkMediaFileSystem.class)))
-                .withAdditionalProject(projectConfig("/"
-                        , configValue(NetworkWorkerLogFileSystem.class)))
-                .withAdditionalProject(projectConfig("/"
-                        , configValue(NetworkLogFileSystem.class)))
-                .withAdditionalProject(projectConfig("/"
-                        , configValue(BinaryFileSystem.class)))
-                .withAdditionalProject(projectConfig("/net/splitcells/network/community/"
-                        , configValue(NetworkCommunityFileSystem.class)))
-                .withAdditionalProjectAtStart(projectConfig("/net/splitcells/network/hub/"
-                        , configValue(NetworkHubFileSystem.class)))
+                        profiledConfigValue(NetworkMediaFileSystem.class)))
+                .withAdditionalProject(projectConfig("/", workerLogs))
+                .withAdditionalProject(projectConfig("/", networkLogs))
                 .withAdditionalProject(projectConfig("/"
-                        , configValue(NetworkPresentationsFileSystem.class)))
-                .withAdditionalProject(projectConfig("/net/splitcells/cin/text/"
-                        , configValue(CinTextFileSystem.class)))
+                        , lazyConfigValue(BinaryFileSystem.class, pathIndex, lazyProjects)))
+                .withAdditionalProject(projectConfig("/net/splitcells/network/community/", community))
+                .withAdditionalProjectAtStart(projectConfig("/net/splitcells/network/hub/", hub))
+                .withAdditionalProject(projectConfig("/", presentations))
+                .withAdditionalProject(projectConfig("/net/splitcells/cin/text/", cinText))
                 .withAdditionalProject(projectConfig("/"
-                        , configValue(NetworkDistroJavaFileSystem.class)))
-                .withAdditionalJsBackgroundFiles("net/splitcells/website/js/tabulator.min.js")
-                .withAdditionalJsBackgroundFiles("net/splitcells/website/js/tabulator.injection.js")
-                .withAdditionalJsBackgroundFiles("net/splitcells/website/js/jquery-fancytree-all-deps.min.js")
-                .withAdditionalJsBackgroundFiles("net/splitcells/website/js/jquery-fancytree-all-deps-injection.min.js")
-                .withAdditionalCssFile("net/splitcells/website/css/jquery-fancytree-all-deps.min.css")
-                .withFrontMenuCommonMarkDescription(configValue(NetworkHubFileSystem.class)
-                        .readString("src/main/md/net/splitcells/network/hub/README-for-users.md"))
-                ;
+                        , profiledConfigValue(NetworkDistroJavaFileSystem.class)))
+                .withFrontMenuCommonMarkDescription(startupProfiler().phase("Read hub README"
+                        , () -> configValue(NetworkHubFileSystem.class)
+                                .readString("src/main/md/net/splitcells/network/hub/README-for-users.md")))
+                .withAdditionalProjectsRendererExtension(pathIndex);
+        if (configValue(LazyProjectWarmUp.class) && !lazyProjects.isEmpty()) {
+            final var warmUp = new Thread(() -> lazyProjects.forEach(LazyFileSystemView::initialize)
+                    , "Lazy project warm-up");
+            warmUp.setDaemon(true);
+            warmUp.start();
+        }
+        final var jsBackgroundFiles = List.of("net/splitcells/website/js/tabulator.min.js"
+                , "net/splitcells/website/js/tabulator.injection.js"
+                , "net/splitcells/website/js/jquery-fancytree-all-deps.min.js"
+                , "net/splitcells/website/js/jquery-fancytree-all-deps-injection.min.js");
+        final var jsBackgroundBundle = assetBundle("background", ".js", Format.JAVASCRIPT, jsBackgroundFiles);
+        if (jsBackgroundBundle.isPresent()) {
+            arg.withAdditionalJsBackgroundFiles(jsBackgroundBundle.get().path())
+                    .withAdditionalProjectsRendererExtension(jsBackgroundBundle.get());
+        } else {
+            jsBackgroundFiles.forEach(arg::withAdditionalJsBackgroundFiles);
+        }
+        // The CSS file is not bundled, as its relative URLs only work at its original path.
+        arg.withAdditionalCssFile("net/splitcells/website/css/jquery-fancytree-all-deps.min.css");
+        return arg;
     }
 }
@@ -20,6 +20,8 @@ import net.splitcells.network.distro.java.DistroCell;
 
 import static net.splitcells.network.distro.java.GuiLauncher.startGuiLauncher;
 import static net.splitcells.network.distro.java.GuiLauncherConfig.guiLauncherConfig;
+import static net.splitcells.network.distro.java.ReadinessProbe.globalReadinessProbe;
+import static net.splitcells.network.distro.java.ReadinessProbe.reportingStartupFailures;
 
 /**
  * <p>TODO FIX All external image links have to be redirected to a local resource or has to be blocked.
@@ -33,16 +35,21 @@ public class DistroGuiLauncher {
      * as this is a config for integrating the core program into the environment.
      * Therefore, these config should support a generic config system,
      * which could be configured by the caller.
+     * <p>The server is started in its own thread, so that the GUI shows the startup status meanwhile.
+     * The server fails to start, if its port is used by another program.</p>
      *
      * @param args
      */
     public static void main(String... args) {
+        final var url = "http://localhost:8443/index.html";
         startGuiLauncher(guiLauncherConfig()
-                .withUrl("http://localhost:8443/index.html")
+                .withUrl(url)
                 .withHelpText("This application's only GUI is this launcher. "
                         + "This application is a server program. "
                         + "Therefore, the program has to be accessed via an Internet browser: "
                         + "click on the `open` button or insert the `URL` into your favorite browser."));
-        Dem.serve(LocalUserCell.class, DistroCell.class);
+        globalReadinessProbe().start();
+        reportingStartupFailures(new Thread(() -> Dem.serve(LocalUserCell.class, DistroCell.class), "Distro server"))
+                .start();
     }
 }
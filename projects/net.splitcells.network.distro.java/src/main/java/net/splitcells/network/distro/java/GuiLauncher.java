@@ -20,10 +20,14 @@ import net.splitcells.dem.lang.annotations.JavaLegacy;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.net.URI;
 
 import static net.splitcells.dem.resource.communication.log.Logs.logs;
 import static net.splitcells.dem.utils.ExecutionException.execException;
+import static net.splitcells.network.distro.java.ShutdownCoordinator.globalShutdownCoordinator;
+import static net.splitcells.network.distro.java.StartupStatus.globalStartupStatus;
 
 @JavaLegacy
 public class GuiLauncher {
@@ -32,7 +36,10 @@ public class GuiLauncher {
     private static final int DEFAULT_PADDING = 5;
 
     /**
-     * <p>TODO FIX Shutdown distro gracefully, instead of using {@link System#exit(int)}.</p>
+     * <p>Closing the window or pressing the exit button stops the program via the {@link ShutdownCoordinator},
+     * which is the same shutdown as the one triggered by `SIGTERM`.</p>
+     * <p>The current {@link StartupStatus} is shown at the bottom of the window.
+     * The open button is only enabled, when the server is ready.</p>
      *
      * @param config
      */
@@ -45,11 +52,10 @@ public class GuiLauncher {
             final var layout = new GridBagLayout();
             pane.setLayout(layout);
             final var exitButton = new JButton("Exit");
-            exitButton.addActionListener(actionEvent -> {
-                // TODO HACK This is an quick hack. Please make clean program exit.
-                System.exit(1);
-            });
+            exitButton.addActionListener(actionEvent -> exit(mainFrame));
             final var openButton = new JButton("Open");
+            openButton.setEnabled(false);
+            final var statusText = new JLabel(" ");
             openButton.addActionListener(actionEvent -> {
                 try {
                     if (Desktop.getDesktop().isSupported(Desktop.Action.BROWSE)) {
@@ -147,10 +153,46 @@ public class GuiLauncher {
                     , new Insets(DEFAULT_MARGIN, DEFAULT_MARGIN, DEFAULT_MARGIN, DEFAULT_MARGIN)
                     , DEFAULT_PADDING
                     , DEFAULT_PADDING));
+            pane.add(statusText, new GridBagConstraints(0
+                    , 4
+                    , 4
+                    , 1
+                    , 0
+                    , 0
+                    , GridBagConstraints.LINE_START
+                    , GridBagConstraints.BOTH
+                    , new Insets(DEFAULT_MARGIN / 2, DEFAULT_MARGIN, DEFAULT_MARGIN, DEFAULT_MARGIN)
+                    , DEFAULT_PADDING
+                    , DEFAULT_PADDING));
+            globalStartupStatus().addListener((message, isReady) -> SwingUtilities.invokeLater(() -> {
+                statusText.setText(message);
+                openButton.setEnabled(isReady);
+                mainFrame.pack();
+            }));
         }
-        // TODO HACK This is an quick hack. Please make clean program exit.
-        mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        mainFrame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        mainFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent windowEvent) {
+                exit(mainFrame);
+            }
+        });
         mainFrame.pack();
         mainFrame.setVisible(true);
     }
+
+    /**
+     * The shutdown is executed outside the event dispatch thread, so that the GUI does not freeze meanwhile.
+     * {@link System#exit(int)} is only called after the shutdown, which makes the shutdown hook a no-op.
+     *
+     * @param mainFrame
+     */
+    private static void exit(JFrame mainFrame) {
+        mainFrame.setTitle("Splitcells Network Distro (Stopping)");
+        final var shutdown = new Thread(() -> {
+            globalShutdownCoordinator().shutdown();
+            System.exit(0);
+        }, "GUI launcher shutdown");
+        shutdown.start();
+    }
 }
@@ -0,0 +1,103 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Encodes each log event as one JSON object per line,
+ * so that logs can be processed by machines without parsing the text of log messages.
+ * The key value pairs of an event are stored as separate fields in the object `kvp`.</p>
+ * <p>The string builder is reused per thread, in order to minimize allocations.</p>
+ */
+@JavaLegacy
+public class JsonLinesEncoder extends EncoderBase<ILoggingEvent> {
+    private static final byte[] EMPTY = new byte[0];
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        final var json = BUILDER.get();
+        json.setLength(0);
+        json.append("{\"time\":").append(event.getTimeStamp());
+        json.append(",\"level\":\"").append(event.getLevel()).append('"');
+        appendField(json, "thread", event.getThreadName());
+        appendField(json, "logger", event.getLoggerName());
+        appendField(json, "message", event.getFormattedMessage());
+        final var keyValuePairs = event.getKeyValuePairs();
+        if (keyValuePairs != null && !keyValuePairs.isEmpty()) {
+            json.append(",\"kvp\":{");
+            for (int i = 0; i < keyValuePairs.size(); ++i) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                final var keyValuePair = keyValuePairs.get(i);
+                appendString(json, keyValuePair.key);
+                json.append(':');
+                appendString(json, String.valueOf(keyValuePair.value));
+            }
+            json.append('}');
+        }
+        if (event.getThrowableProxy() != null) {
+            appendField(json, "throwable", ThrowableProxyUtil.asString(event.getThrowableProxy()));
+        }
+        json.append("}\n");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+
+    private static void appendField(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        appendString(json, value);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            final var c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
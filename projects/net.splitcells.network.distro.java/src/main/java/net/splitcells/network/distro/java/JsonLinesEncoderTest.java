@@ -0,0 +1,48 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import net.splitcells.dem.testing.annotations.UnitTest;
+import org.slf4j.event.KeyValuePair;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+
+public class JsonLinesEncoderTest {
+    @UnitTest
+    public void testEscaping() {
+        final var event = event("quote \" backslash \\ line\nbreak\ttab \u0001 control");
+        requireEquals(encode(event), "{\"time\":1,\"level\":\"INFO\",\"thread\":\"main\",\"logger\":\"test\""
+                + ",\"message\":\"quote \\\" backslash \\\\ line\\nbreak\\ttab \\u0001 control\"}\n");
+    }
+
+    @UnitTest
+    public void testKeyValuePairs() {
+        final var event = event("message");
+        event.setKeyValuePairs(List.of(new KeyValuePair("caller thread", "worker \"1\"")
+                , new KeyValuePair("count", 2)
+                , new KeyValuePair("missing", null)));
+        requireEquals(encode(event), "{\"time\":1,\"level\":\"INFO\",\"thread\":\"main\",\"logger\":\"test\""
+                + ",\"message\":\"message\""
+                + ",\"kvp\":{\"caller thread\":\"worker \\\"1\\\"\",\"count\":\"2\",\"missing\":\"null\"}}\n");
+    }
+
+    private static LoggingEvent event(String message) {
+        final var event = new LoggingEvent();
+        event.setTimeStamp(1);
+        event.setLevel(Level.INFO);
+        event.setThreadName("main");
+        event.setLoggerName("test");
+        event.setMessage(message);
+        return event;
+    }
+
+    private static String encode(LoggingEvent event) {
+        return new String(new JsonLinesEncoder().encode(event), StandardCharsets.UTF_8);
+    }
+}
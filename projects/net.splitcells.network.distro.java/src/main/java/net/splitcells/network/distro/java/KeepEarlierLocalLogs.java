@@ -0,0 +1,15 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * Determines whether the log file of an earlier run of the {@link LocalUserCell} is kept as a rotated log file or deleted.
+ */
+public class KeepEarlierLocalLogs implements Option<Boolean> {
+    @Override public Boolean defaultValue() {
+        return false;
+    }
+}
@@ -0,0 +1,238 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.FileSystemView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>Creates the wrapped {@link FileSystemView} only, when one of its files is accessed for the first time,
+ * so that projects, which are never requested, do not slow down the startup.</p>
+ * <p>The paths of the wrapped {@link FileSystemView} are stored in a listing file, when it is created.
+ * Before the creation, the listing methods, {@link #exists(Path)}, {@link #isFile(Path)} and
+ * {@link #isDirectory(Path)} are answered via the listing of an earlier run,
+ * so that indexes like {@link ProjectPathIndex} contain the paths of a lazy project without creating it.
+ * Therefore, a request creates the file system only, if it is for one of the listed paths.
+ * This is important for projects mounted at the root path, which are asked for every requested path.
+ * If there is no listing yet, the file system is created, when its paths are requested.</p>
+ * <p>The listing starts with a version line.
+ * A listing of another version is ignored,
+ * so that files added by an upgrade are not hidden by the listing of an older version.</p>
+ * <p>The given listener is called after the creation,
+ * if the paths of the created file system differ from the stored listing.</p>
+ * <p>{@link #initialize()} can be used in order to create the file system in advance,
+ * like it is done by the background warm-up of {@link DistroCell}.</p>
+ */
+@JavaLegacy
+public class LazyFileSystemView implements FileSystemView {
+    private static final String VERSION_PREFIX = "# version ";
+
+    /**
+     * @param content         Creates the wrapped {@link FileSystemView}.
+     * @param listing         The file, that stores the paths of the wrapped {@link FileSystemView}.
+     * @param version         Identifies the build of the wrapped {@link FileSystemView}.
+     * @param onListingChange Is called, if the created file system has other paths than the stored listing.
+     * @return A file system, that is not created yet.
+     */
+    public static LazyFileSystemView lazyFileSystemView(Supplier<FileSystemView> content, Path listing
+            , String version, Runnable onListingChange) {
+        return new LazyFileSystemView(content, listing, version, onListingChange);
+    }
+
+    private final Supplier<FileSystemView> contentSupplier;
+    private final Path listing;
+    private final String version;
+    private final Runnable onListingChange;
+    private volatile FileSystemView content;
+    private final Optional<Set<Path>> storedPaths;
+    /**
+     * These are all parent folders of {@link #storedPaths},
+     * so that {@link #exists(Path)} and {@link #isDirectory(Path)} do not scan all stored paths.
+     */
+    private final Set<Path> storedDirectories;
+
+    private LazyFileSystemView(Supplier<FileSystemView> contentSupplier, Path listing, String version
+            , Runnable onListingChange) {
+        this.contentSupplier = contentSupplier;
+        this.listing = listing;
+        this.version = version;
+        this.onListingChange = onListingChange;
+        storedPaths = readListing(listing, version);
+        storedDirectories = storedPaths.map(LazyFileSystemView::directories).orElseGet(Set::of);
+    }
+
+    public boolean isInitialized() {
+        return content != null;
+    }
+
+    /**
+     * Creates the wrapped {@link FileSystemView}, if this was not already done.
+     *
+     * @return The wrapped {@link FileSystemView}.
+     */
+    public FileSystemView initialize() {
+        final var currentContent = content;
+        if (currentContent != null) {
+            return currentContent;
+        }
+        final FileSystemView newContent;
+        synchronized (this) {
+            if (content != null) {
+                return content;
+            }
+            newContent = contentSupplier.get();
+            content = newContent;
+        }
+        final Set<Path> paths;
+        try (final var walk = newContent.walkRecursively()) {
+            paths = walk.collect(Collectors.toUnmodifiableSet());
+        }
+        if (!storedPaths.equals(Optional.of(paths))) {
+            writeListing(paths);
+            onListingChange.run();
+        }
+        return newContent;
+    }
+
+    @Override
+    public InputStream inputStream(Path path) {
+        return initialize().inputStream(path);
+    }
+
+    @Override
+    public byte[] readFileAsBytes(Path path) {
+        return initialize().readFileAsBytes(path);
+    }
+
+    @Override
+    public String readString(String path) {
+        return initialize().readString(path);
+    }
+
+    @Override
+    public boolean exists(Path path) {
+        final var paths = pathsBeforeInitialization();
+        if (paths.isPresent()) {
+            return paths.get().contains(path) || storedDirectories.contains(path);
+        }
+        return initialize().exists(path);
+    }
+
+    @Override
+    public boolean isFile(Path path) {
+        final var paths = pathsBeforeInitialization();
+        if (paths.isPresent() && !paths.get().contains(path)) {
+            return false;
+        }
+        return initialize().isFile(path);
+    }
+
+    @Override
+    public boolean isDirectory(Path path) {
+        final var paths = pathsBeforeInitialization();
+        if (paths.isPresent()) {
+            return storedDirectories.contains(path);
+        }
+        return initialize().isDirectory(path);
+    }
+
+    @Override
+    public Stream<Path> walkRecursively() {
+        final var paths = pathsBeforeInitialization();
+        if (paths.isPresent()) {
+            return paths.get().stream();
+        }
+        return initialize().walkRecursively();
+    }
+
+    @Override
+    public Stream<Path> walkRecursively(Path path) {
+        final var paths = pathsBeforeInitialization();
+        if (paths.isPresent()) {
+            return paths.get().stream().filter(p -> p.startsWith(path));
+        }
+        return initialize().walkRecursively(path);
+    }
+
+    @Override
+    public Optional<Path> javaLegacyPath(Path path) {
+        return initialize().javaLegacyPath(path);
+    }
+
+    @Override
+    public FileSystemView subFileSystemView(String path) {
+        return initialize().subFileSystemView(path);
+    }
+
+    /**
+     * @return The stored listing, if the wrapped {@link FileSystemView} is not created yet.
+     */
+    private Optional<Set<Path>> pathsBeforeInitialization() {
+        if (content != null) {
+            return Optional.empty();
+        }
+        return storedPaths;
+    }
+
+    private static Optional<Set<Path>> readListing(Path listing, String version) {
+        if (!Files.isRegularFile(listing)) {
+            return Optional.empty();
+        }
+        try {
+            final var lines = Files.readAllLines(listing, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(VERSION_PREFIX + version)) {
+                return Optional.empty();
+            }
+            return Optional.of(lines.subList(1, lines.size()).stream()
+                    .filter(l -> !l.isEmpty())
+                    .map(Path::of)
+                    .collect(Collectors.toUnmodifiableSet()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Set<Path> directories(Set<Path> paths) {
+        final var directories = new HashSet<Path>();
+        for (final var path : paths) {
+            var parent = path.getParent();
+            while (parent != null && directories.add(parent)) {
+                parent = parent.getParent();
+            }
+        }
+        return Set.copyOf(directories);
+    }
+
+    /**
+     * An error is reported via the {@link Thread.UncaughtExceptionHandler} of the current thread,
+     * because the file system may be created by a thread without an environment.
+     * Without a listing, the file system is created again, when its paths are requested during the next run.
+     *
+     * @param paths The paths of the created file system.
+     */
+    private void writeListing(Set<Path> paths) {
+        try {
+            final var lines = new ArrayList<String>();
+            lines.add(VERSION_PREFIX + version);
+            paths.stream().map(Path::toString).sorted().forEach(lines::add);
+            Files.write(listing, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            final var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.LazyFileSystemView.lazyFileSystemView;
+import static net.splitcells.network.distro.java.MapFileSystemView.mapFileSystemView;
+
+public class LazyFileSystemViewTest {
+    /**
+     * The first run lists the paths by creating the file system and stores these.
+     * The next run answers the listing and paths of other projects without creating the file system.
+     */
+    @UnitTest
+    public void testStoredListing() throws IOException {
+        final var listing = Files.createTempFile("lazy-file-system-view-test", ".txt");
+        try {
+            Files.delete(listing);
+            final var files = Map.of("index.html", "index", "css/main.css", "css");
+            final var creations = new AtomicInteger();
+            final var listingChanges = new AtomicInteger();
+            final var firstRun = lazyFileSystemView(() -> {
+                creations.incrementAndGet();
+                return mapFileSystemView(files);
+            }, listing, "1", listingChanges::incrementAndGet);
+            requireEquals(paths(firstRun.walkRecursively()), "css/main.css,index.html");
+            requireEquals(creations.get(), 1);
+            requireEquals(listingChanges.get(), 1);
+            final var secondRun = lazyFileSystemView(() -> {
+                creations.incrementAndGet();
+                return mapFileSystemView(files);
+            }, listing, "1", listingChanges::incrementAndGet);
+            requireEquals(paths(secondRun.walkRecursively()), "css/main.css,index.html");
+            requireEquals(secondRun.isFile(Path.of("other.html")), false);
+            requireEquals(secondRun.isDirectory(Path.of("css")), true);
+            requireEquals(secondRun.exists(Path.of("css")), true);
+            requireEquals(secondRun.exists(Path.of("css/main.css")), true);
+            requireEquals(secondRun.exists(Path.of("js")), false);
+            requireEquals(secondRun.isInitialized(), false);
+            requireEquals(secondRun.isFile(Path.of("index.html")), true);
+            requireEquals(secondRun.isInitialized(), true);
+            requireEquals(creations.get(), 2);
+            requireEquals(listingChanges.get(), 1);
+        } finally {
+            Files.deleteIfExists(listing);
+        }
+    }
+
+    /**
+     * The listing of another version is ignored, so that new files of an upgrade are found.
+     */
+    @UnitTest
+    public void testUpgrade() throws IOException {
+        final var listing = Files.createTempFile("lazy-file-system-view-test", ".txt");
+        try {
+            Files.delete(listing);
+            final var oldFiles = Map.of("index.html", "index");
+            lazyFileSystemView(() -> mapFileSystemView(oldFiles), listing, "1", () -> {
+            }).initialize();
+            final var newFiles = Map.of("index.html", "index", "new.html", "new");
+            final var listingChanges = new AtomicInteger();
+            final var upgrade = lazyFileSystemView(() -> mapFileSystemView(newFiles), listing, "2"
+                    , listingChanges::incrementAndGet);
+            requireEquals(upgrade.isFile(Path.of("new.html")), true);
+            requireEquals(listingChanges.get(), 1);
+            requireEquals(paths(lazyFileSystemView(() -> mapFileSystemView(newFiles), listing, "2", () -> {
+            }).walkRecursively()), "index.html,new.html");
+        } finally {
+            Files.deleteIfExists(listing);
+        }
+    }
+
+    private static String paths(Stream<Path> paths) {
+        return paths.map(Path::toString).sorted().collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,15 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * Determines whether the lazy projects of {@link DistroCell#config(net.splitcells.website.server.Config)} are created in a background thread after the startup.
+ */
+public class LazyProjectWarmUp implements Option<Boolean> {
+    @Override public Boolean defaultValue() {
+        return false;
+    }
+}
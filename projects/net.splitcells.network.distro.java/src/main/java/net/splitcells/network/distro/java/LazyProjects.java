@@ -0,0 +1,16 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * Determines whether the heavy projects of {@link DistroCell#config(net.splitcells.website.server.Config)} are only created, when these are accessed for the first time.
+ * See {@link LazyFileSystemView}.
+ */
+public class LazyProjects implements Option<Boolean> {
+    @Override public Boolean defaultValue() {
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * This is the maximum number of bytes of the log file of the {@link LocalUserCell}, before it is rotated.
+ */
+public class LocalLogFileSizeLimit implements Option<Long> {
+    @Override public Long defaultValue() {
+        return 10L * 1024 * 1024;
+    }
+}
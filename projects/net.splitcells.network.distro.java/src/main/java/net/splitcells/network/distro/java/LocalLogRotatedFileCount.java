@@ -0,0 +1,15 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * This is the number of rotated log files of the {@link LocalUserCell}, that are kept.
+ */
+public class LocalLogRotatedFileCount implements Option<Integer> {
+    @Override public Integer defaultValue() {
+        return 5;
+    }
+}
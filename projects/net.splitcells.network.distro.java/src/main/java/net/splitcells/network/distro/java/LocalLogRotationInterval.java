@@ -0,0 +1,17 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+import java.time.Duration;
+
+/**
+ * This is the maximum time, during which the {@link LocalUserCell} writes into the same log file.
+ */
+public class LocalLogRotationInterval implements Option<Duration> {
+    @Override public Duration defaultValue() {
+        return Duration.ofDays(1);
+    }
+}
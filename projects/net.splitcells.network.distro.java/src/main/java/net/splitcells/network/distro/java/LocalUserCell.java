@@ -9,19 +9,19 @@ import net.splitcells.dem.environment.Environment;
 import net.splitcells.dem.environment.resource.Console;
 import net.splitcells.dem.resource.communication.log.Logs;
 import net.splitcells.dem.resource.communication.log.MessageFilter;
-import net.splitcells.dem.utils.ExecutionException;
+import net.splitcells.network.distro.java.h2.EnableLogStore;
 import net.splitcells.website.server.ServerConfig;
 
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.nio.file.Path;
 
 import static net.splitcells.dem.Dem.configValue;
 import static net.splitcells.dem.Dem.environment;
-import static net.splitcells.dem.lang.tree.TreeI.tree;
-import static net.splitcells.dem.resource.communication.Sender.stringSender;
 import static net.splitcells.dem.resource.communication.log.CommonMarkLogger.commonMarkDui;
 import static net.splitcells.dem.resource.communication.log.LogLevel.TRACE;
+import static net.splitcells.network.distro.java.RotatingLogFile.rotatingLogFile;
+import static net.splitcells.network.distro.java.ShutdownCoordinator.globalShutdownCoordinator;
+import static net.splitcells.network.distro.java.StartupProfiler.startupProfiler;
+import static net.splitcells.network.distro.java.StartupStatus.globalStartupStatus;
 
 /**
  * <p>Provides a config for users, that run the software locally without being accessed by the public internet.
@@ -30,6 +30,10 @@ import static net.splitcells.dem.resource.communication.log.LogLevel.TRACE;
  * <p>Logs are written in the user-friendly CommonMark format.
  * Many websites have a nice rendering of CommonMark documents,
  * which in turn should improve the interactions with non-technical users.</p>
+ * <p>The log file is written via a {@link RotatingLogFile},
+ * so that long sessions do not cause many small writes or a log file without a size limit.</p>
+ * <p>The {@link net.splitcells.network.distro.java.h2.LogStoreCell} is not started,
+ * so that no database is created for local users.</p>
  */
 public class LocalUserCell implements Cell {
     @Override public String groupId() {
@@ -41,20 +45,22 @@ public class LocalUserCell implements Cell {
     }
 
     @Override public void accept(Environment env) {
-        env.config().configValue(ServerConfig.class).withIsSecured(false).withOpenPort(8443);
-        env.config().withConfigValue(MessageFilter.class, logMessage -> logMessage.priority().greaterThan(TRACE));
-        final var logFile = Path.of("./net.splitcells.network.distro.log.md");
-        if (net.splitcells.dem.resource.Files.isFile(logFile)) {
-            logFile.toFile().delete();
-        }
-        try {
-            env.config().withConfigValue(Console.class
-                    , stringSender(new FileOutputStream(logFile.toFile())));
-        } catch (FileNotFoundException e) {
-            throw ExecutionException.execException(tree("Could not delete local log file.")
-                    .withProperty("logFile", logFile.toString()), e);
-        }
-        env.config().withConfigValue(Logs.class, commonMarkDui(environment().config().configValue(Console.class)
-                , environment().config().configValue(MessageFilter.class)));
+        startupProfiler().phase("LocalUserCell", () -> {
+            globalStartupStatus().report("Configuring local user environment.");
+            env.config().configValue(ServerConfig.class).withIsSecured(false).withOpenPort(8443);
+            env.config().withConfigValue(EnableLogStore.class, false);
+            env.config().withConfigValue(MessageFilter.class, logMessage -> logMessage.priority().greaterThan(TRACE));
+            final var logFile = Path.of("./net.splitcells.network.distro.log.md");
+            final var logSink = rotatingLogFile(logFile
+                    , env.config().configValue(LocalLogFileSizeLimit.class)
+                    , env.config().configValue(LocalLogRotationInterval.class)
+                    , env.config().configValue(LocalLogRotatedFileCount.class)
+                    , env.config().configValue(LocalLogFlushInterval.class)
+                    , env.config().configValue(KeepEarlierLocalLogs.class));
+            globalShutdownCoordinator().register("Close local log file.", logSink::close);
+            env.config().withConfigValue(Console.class, logSink);
+            env.config().withConfigValue(Logs.class, commonMarkDui(environment().config().configValue(Console.class)
+                    , environment().config().configValue(MessageFilter.class)));
+        });
     }
 }
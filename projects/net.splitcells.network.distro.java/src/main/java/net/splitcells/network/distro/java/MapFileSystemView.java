@@ -0,0 +1,95 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.FileSystemView;
+import net.splitcells.dem.utils.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Provides the files of a map from relative paths to their content as a {@link FileSystemView}.
+ * This is a fixture for the tests of the {@link FileSystemView} based classes.</p>
+ * <p>The map is not copied, so that tests can add, change and remove files during the test.
+ * Directories are not stored, but are derived from the paths of the files.
+ * Therefore, {@link #walkRecursively()} only lists files.</p>
+ */
+@JavaLegacy
+public class MapFileSystemView implements FileSystemView {
+    public static MapFileSystemView mapFileSystemView(Map<String, String> files) {
+        return new MapFileSystemView(files, "");
+    }
+
+    private final Map<String, String> files;
+    /**
+     * This is the prefix of the paths in {@link #files}, that are part of this view.
+     * It is empty or ends with a slash.
+     */
+    private final String root;
+
+    private MapFileSystemView(Map<String, String> argFiles, String argRoot) {
+        files = argFiles;
+        root = argRoot;
+    }
+
+    @Override
+    public InputStream inputStream(Path path) {
+        return new ByteArrayInputStream(readFileAsBytes(path));
+    }
+
+    @Override
+    public byte[] readFileAsBytes(Path path) {
+        return StringUtils.toBytes(readString(path.toString()));
+    }
+
+    @Override
+    public String readString(String path) {
+        final var content = files.get(root + path);
+        if (content == null) {
+            throw execException(tree("File is not present.").withProperty("path", path));
+        }
+        return content;
+    }
+
+    @Override
+    public boolean exists(Path path) {
+        return isFile(path) || isDirectory(path);
+    }
+
+    @Override
+    public boolean isFile(Path path) {
+        return files.containsKey(root + path);
+    }
+
+    @Override
+    public boolean isDirectory(Path path) {
+        return walkRecursively().anyMatch(p -> p.startsWith(path) && !p.equals(path));
+    }
+
+    @Override
+    public Stream<Path> walkRecursively() {
+        return new ArrayList<>(files.keySet()).stream()
+                .filter(p -> p.startsWith(root))
+                .map(p -> Path.of(p.substring(root.length())));
+    }
+
+    @Override
+    public Stream<Path> walkRecursively(Path path) {
+        return walkRecursively().filter(p -> p.startsWith(path));
+    }
+
+    @Override
+    public FileSystemView subFileSystemView(String path) {
+        return new MapFileSystemView(files, root + Path.of(path) + "/");
+    }
+}
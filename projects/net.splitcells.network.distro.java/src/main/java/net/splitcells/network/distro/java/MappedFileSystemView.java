@@ -0,0 +1,212 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.FileSystemView;
+import net.splitcells.dem.utils.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Provides a read only copy of a {@link FileSystemView},
+ * where all files are copied once into one memory mapped blob.
+ * An offset table maps every file path to its slice of the blob.</p>
+ * <p>This is used for {@link net.splitcells.dem.resource.FileSystemViaClassResources},
+ * so that static resources are not inflated from the jar on each request.
+ * The website server requires the content of a file as a byte array,
+ * so {@link #readFileAsBytes(Path)} still copies the content out of the mapping.
+ * {@link #inputStream(Path)} reads directly from the mapping.
+ * The directory structure is still provided by the wrapped {@link FileSystemView}.</p>
+ * <p>The blob is stored in a temporary file, which is deleted right after it is mapped or its creation failed,
+ * because the mapping stays valid until it is garbage collected.
+ * Therefore, the file is not left behind, even if the process is killed.
+ * On Windows, a mapped file cannot be deleted and is therefore deleted, when the JVM exits.
+ * Files created in the wrapped {@link FileSystemView} after the startup are not present in the blob.</p>
+ */
+@JavaLegacy
+public class MappedFileSystemView implements FileSystemView {
+    public static MappedFileSystemView mappedFileSystemView(FileSystemView content) {
+        return new MappedFileSystemView(content);
+    }
+
+    private final FileSystemView content;
+    private final Map<String, long[]> offsets = new HashMap<>();
+    private final MappedByteBuffer blob;
+
+    private MappedFileSystemView(FileSystemView argContent) {
+        content = argContent;
+        final Path blobFile;
+        try {
+            blobFile = Files.createTempFile("net.splitcells.network.distro.java.", ".blob");
+        } catch (IOException e) {
+            throw execException(e);
+        }
+        try {
+            try (final var writer = FileChannel.open(blobFile, StandardOpenOption.WRITE)) {
+                try (final Stream<Path> files = content.walkRecursively()) {
+                    files.filter(content::isFile).forEach(file -> {
+                        try {
+                            final var offset = writer.position();
+                            final var length = writer.write(ByteBuffer.wrap(content.readFileAsBytes(file)));
+                            offsets.put(normalize(file), new long[]{offset, length});
+                        } catch (IOException e) {
+                            throw execException(tree("Could not copy file into memory mapped blob.")
+                                    .withProperty("file", file.toString()), e);
+                        }
+                    });
+                }
+            }
+            try (final var reader = FileChannel.open(blobFile, StandardOpenOption.READ)) {
+                if (reader.size() > Integer.MAX_VALUE) {
+                    throw execException(tree("Files are too big for one memory mapped blob.")
+                            .withProperty("blob size", "" + reader.size()));
+                }
+                blob = reader.map(FileChannel.MapMode.READ_ONLY, 0, reader.size());
+            }
+        } catch (IOException e) {
+            throw execException(e);
+        } finally {
+            deleteBlobFile(blobFile);
+        }
+    }
+
+    /**
+     * Deletes the blob file on a best effort basis,
+     * because Windows does not allow the deletion of a mapped file.
+     * In this case, the file is deleted, when the JVM exits.
+     * This never throws, so that an exception during the creation of the blob is not hidden.
+     *
+     * @param blobFile The file of the blob.
+     */
+    private static void deleteBlobFile(Path blobFile) {
+        try {
+            Files.deleteIfExists(blobFile);
+        } catch (IOException | RuntimeException e) {
+            try {
+                blobFile.toFile().deleteOnExit();
+            } catch (RuntimeException ignored) {
+                // The file is a temporary file and is therefore eventually removed by the operating system.
+            }
+        }
+    }
+
+    /**
+     * @param path Path of the requested file.
+     * @return A read only view of the file's content in the blob, if the file is present.
+     */
+    private Optional<ByteBuffer> mappedSlice(Path path) {
+        final var offset = offsets.get(normalize(path));
+        if (offset == null) {
+            return Optional.empty();
+        }
+        return Optional.of(blob.duplicate()
+                .position((int) offset[0])
+                .limit((int) (offset[0] + offset[1]))
+                .slice()
+                .asReadOnlyBuffer());
+    }
+
+    @Override
+    public InputStream inputStream(Path path) {
+        final var slice = mappedSlice(path);
+        if (slice.isEmpty()) {
+            return content.inputStream(path);
+        }
+        final var buffer = slice.get();
+        return new InputStream() {
+            @Override
+            public int read() {
+                if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+                return buffer.get() & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+                final var readLength = Math.min(length, buffer.remaining());
+                buffer.get(bytes, offset, readLength);
+                return readLength;
+            }
+
+            @Override
+            public int available() {
+                return buffer.remaining();
+            }
+        };
+    }
+
+    @Override
+    public byte[] readFileAsBytes(Path path) {
+        final var slice = mappedSlice(path);
+        if (slice.isEmpty()) {
+            return content.readFileAsBytes(path);
+        }
+        final var bytes = new byte[slice.get().remaining()];
+        slice.get().get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public String readString(String path) {
+        return StringUtils.parseString(readFileAsBytes(Path.of(path)));
+    }
+
+    @Override
+    public boolean exists(Path path) {
+        return offsets.containsKey(normalize(path)) || content.exists(path);
+    }
+
+    @Override
+    public boolean isFile(Path path) {
+        return offsets.containsKey(normalize(path)) || content.isFile(path);
+    }
+
+    @Override
+    public boolean isDirectory(Path path) {
+        return content.isDirectory(path);
+    }
+
+    @Override
+    public Stream<Path> walkRecursively() {
+        return content.walkRecursively();
+    }
+
+    @Override
+    public Stream<Path> walkRecursively(Path path) {
+        return content.walkRecursively(path);
+    }
+
+    @Override
+    public Optional<Path> javaLegacyPath(Path path) {
+        return content.javaLegacyPath(path);
+    }
+
+    @Override
+    public FileSystemView subFileSystemView(String path) {
+        return content.subFileSystemView(path);
+    }
+
+    private static String normalize(Path path) {
+        return path.normalize().toString();
+    }
+}
@@ -0,0 +1,54 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+import net.splitcells.dem.utils.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.MapFileSystemView.mapFileSystemView;
+import static net.splitcells.network.distro.java.MappedFileSystemView.mappedFileSystemView;
+
+public class MappedFileSystemViewTest {
+    /**
+     * Every file is read from the blob via both read methods,
+     * even if the content of the wrapped file system changes afterwards.
+     *
+     * @throws IOException
+     */
+    @UnitTest
+    public void testRead() throws IOException {
+        final var files = new HashMap<>(Map.of("index.html", "index", "css/main.css", "main", "empty.txt", ""));
+        final var testSubject = mappedFileSystemView(mapFileSystemView(files));
+        files.put("index.html", "changed");
+        requireEquals(StringUtils.parseString(testSubject.readFileAsBytes(Path.of("index.html"))), "index");
+        requireEquals(testSubject.readString("css/main.css"), "main");
+        requireEquals(testSubject.readString("empty.txt"), "");
+        try (final var input = testSubject.inputStream(Path.of("css/main.css"))) {
+            requireEquals(input.available(), 4);
+            requireEquals(StringUtils.parseString(input.readAllBytes()), "main");
+            requireEquals(input.read(), -1);
+        }
+        requireEquals(testSubject.isFile(Path.of("css/main.css")), true);
+        requireEquals(testSubject.isDirectory(Path.of("css")), true);
+    }
+
+    /**
+     * Files created after the startup are not present in the blob and are read from the wrapped file system.
+     */
+    @UnitTest
+    public void testFallback() {
+        final var files = new HashMap<>(Map.of("index.html", "index"));
+        final var testSubject = mappedFileSystemView(mapFileSystemView(files));
+        requireEquals(testSubject.isFile(Path.of("new.html")), false);
+        files.put("new.html", "new");
+        requireEquals(testSubject.isFile(Path.of("new.html")), true);
+        requireEquals(testSubject.readString("new.html"), "new");
+    }
+}
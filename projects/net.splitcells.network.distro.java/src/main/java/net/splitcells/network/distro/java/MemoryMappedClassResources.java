@@ -0,0 +1,17 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * Determines, whether the class resources of the distro are served via a {@link MappedFileSystemView}.
+ * If this is disabled, the resources are read via the class loader on each access instead,
+ * which avoids the copy of all resources at the startup.
+ */
+public class MemoryMappedClassResources implements Option<Boolean> {
+    @Override public Boolean defaultValue() {
+        return true;
+    }
+}
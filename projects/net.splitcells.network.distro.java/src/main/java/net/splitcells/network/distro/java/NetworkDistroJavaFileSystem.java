@@ -6,10 +6,16 @@ package net.splitcells.network.distro.java;
 import net.splitcells.dem.environment.config.framework.Option;
 import net.splitcells.dem.resource.FileSystemView;
 
+import static net.splitcells.dem.Dem.configValue;
 import static net.splitcells.dem.resource.FileSystemViaClassResources.fileSystemViaClassResources;
+import static net.splitcells.network.distro.java.MappedFileSystemView.mappedFileSystemView;
 
 public class NetworkDistroJavaFileSystem implements Option<FileSystemView> {
     @Override public FileSystemView defaultValue() {
-        return fileSystemViaClassResources(NetworkDistroJavaFileSystem.class, "net.splitcells", "network.distro.java");
+        final var classResources = fileSystemViaClassResources(NetworkDistroJavaFileSystem.class, "net.splitcells", "network.distro.java");
+        if (configValue(MemoryMappedClassResources.class)) {
+            return mappedFileSystemView(classResources);
+        }
+        return classResources;
     }
 }
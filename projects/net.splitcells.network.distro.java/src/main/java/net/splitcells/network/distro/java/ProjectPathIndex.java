@@ -0,0 +1,377 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.data.set.Set;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.FileSystemView;
+import net.splitcells.website.server.Config;
+import net.splitcells.website.server.processor.BinaryMessage;
+import net.splitcells.website.server.project.ProjectRenderer;
+import net.splitcells.website.server.projects.ProjectsRendererI;
+import net.splitcells.website.server.projects.RenderRequest;
+import net.splitcells.website.server.projects.extension.ProjectsRendererExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static net.splitcells.dem.data.set.Sets.setOfUniques;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+
+/**
+ * <p>Routes a request path directly to the project, that serves it,
+ * instead of probing all projects of {@link DistroCell#config(Config)} one after another.</p>
+ * <p>The index is built on the first request,
+ * because the {@link ProjectRenderer}s are only known to the {@link ProjectsRendererI} at this point.
+ * Each index is an immutable snapshot, which is replaced as a whole.
+ * If two projects provide the same path, the first project wins,
+ * which is the same precedence as the one of the linear probing.</p>
+ * <p>The paths of most projects do not change during the runtime.
+ * The file systems, whose paths do change, like the one of the worker logs, are registered via {@link #watch(FileSystemView)}.
+ * These are checked regularly after {@link #start(Duration)} via the modification times of their folders and
+ * if the paths of one of these changed, {@link #refresh()} lists all projects again.
+ * Only the projects, whose paths actually changed, are replaced in the index.</p>
+ * <p>The rendered pages are cached via the given {@link RenderedPageCache}.</p>
+ * <p>Paths, that are not present in the index, are not rendered by this extension,
+ * so that the regular rendering of the {@link ProjectsRendererI} is used as a fallback.
+ * Only public projects are registered via {@link DistroCell#config(Config)} and
+ * therefore no authentication is required for indexed paths.</p>
+ */
+@JavaLegacy
+public class ProjectPathIndex implements ProjectsRendererExtension, AutoCloseable {
+    public static ProjectPathIndex projectPathIndex(RenderedPageCache renderedPageCache) {
+        return new ProjectPathIndex(renderedPageCache);
+    }
+
+    /**
+     * This is the view of the index on a project, which is a {@link ProjectRenderer} outside of tests.
+     */
+    public interface IndexedProject {
+        /**
+         * @return The paths of the project including the root path, where the project is mounted.
+         */
+        Collection<Path> projectPaths();
+
+        Optional<BinaryMessage> render(String path);
+    }
+
+    private final RenderedPageCache renderedPageCache;
+    private final List<WatchedFileSystem> watchedFileSystems = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot = null;
+    /**
+     * Contains the modification stamp of each project for the {@link RenderedPageCache}.
+     * The stamp of a project is increased, when its paths changed.
+     */
+    private long[] stamps = new long[0];
+    private ScheduledExecutorService watcher;
+
+    private ProjectPathIndex(RenderedPageCache argRenderedPageCache) {
+        renderedPageCache = argRenderedPageCache;
+    }
+
+    @Override
+    public Optional<BinaryMessage> renderFile(String path, ProjectsRendererI projectsRenderer, Config config) {
+        return renderFile(path, () -> projectsRenderer.projectRenderers().stream()
+                .map(ProjectPathIndex::indexedProject)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * This is public, so that the index can be used without a {@link ProjectsRendererI},
+     * like it is done by the benchmarks.
+     *
+     * @param path     The requested path.
+     * @param projects Provides the projects in the order of their precedence, if no index is present yet.
+     * @return The rendered file, if the path is indexed.
+     */
+    public Optional<BinaryMessage> renderFile(String path, Supplier<List<IndexedProject>> projects) {
+        final var currentSnapshot = snapshot(projects);
+        final var projectIndex = currentSnapshot.index.get(normalize(path));
+        if (projectIndex == null) {
+            return Optional.empty();
+        }
+        final var project = currentSnapshot.projects.get(projectIndex);
+        return renderedPageCache.render(projectIndex, currentSnapshot.stamps[projectIndex], path
+                , () -> project.render(path));
+    }
+
+    public RenderedPageCache renderedPageCache() {
+        return renderedPageCache;
+    }
+
+    @Override
+    public boolean requiresAuthentication(RenderRequest request) {
+        return false;
+    }
+
+    /**
+     * The paths are already provided by the projects themselves.
+     *
+     * @param projectsRenderer
+     * @return
+     */
+    @Override
+    public Set<Path> projectPaths(ProjectsRendererI projectsRenderer) {
+        return setOfUniques();
+    }
+
+    /**
+     * Registers a file system, whose paths may change during the runtime.
+     *
+     * @param fileSystem The file system of a project, that is registered in the {@link Config}.
+     * @return This.
+     */
+    public ProjectPathIndex watch(FileSystemView fileSystem) {
+        watchedFileSystems.add(new WatchedFileSystem(fileSystem));
+        return this;
+    }
+
+    /**
+     * Checks the paths of the {@link #watch(FileSystemView)} file systems regularly in a daemon thread.
+     *
+     * @param interval The time between two checks.
+     * @return This.
+     */
+    public synchronized ProjectPathIndex start(Duration interval) {
+        if (watcher != null) {
+            return this;
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "Project path index watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(() -> {
+            try {
+                refreshIfWatchedPathsChanged();
+            } catch (Throwable t) {
+                logs().warn("Could not update the project path index.", t);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Calls {@link #refresh()}, if the paths of any watched file system changed since the last check.
+     */
+    public void refreshIfWatchedPathsChanged() {
+        boolean changed = false;
+        for (final var watchedFileSystem : watchedFileSystems) {
+            changed |= watchedFileSystem.hasChanged();
+        }
+        if (changed) {
+            refresh();
+        }
+    }
+
+    /**
+     * Lists the paths of all projects again and replaces the paths of the projects, whose paths changed.
+     * Only the stamps of these projects are increased,
+     * so that the cached pages of the other projects stay valid.
+     */
+    public synchronized void refresh() {
+        if (snapshot == null) {
+            return;
+        }
+        final var newPathsOfProjects = new ArrayList<>(snapshot.pathsOfProjects);
+        boolean changed = false;
+        for (int i = 0; i < snapshot.projects.size(); ++i) {
+            final var newPaths = paths(snapshot.projects.get(i));
+            if (!newPaths.equals(newPathsOfProjects.get(i))) {
+                if (!changed) {
+                    stamps = stamps.clone();
+                    changed = true;
+                }
+                newPathsOfProjects.set(i, newPaths);
+                ++stamps[i];
+            }
+        }
+        if (changed) {
+            snapshot = new Snapshot(snapshot.projects, newPathsOfProjects, stamps);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    private Snapshot snapshot(Supplier<List<IndexedProject>> projectsSupplier) {
+        final var currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            return currentSnapshot;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                final var projects = List.copyOf(projectsSupplier.get());
+                final var pathsOfProjects = new ArrayList<java.util.Set<String>>(projects.size());
+                projects.forEach(p -> pathsOfProjects.add(paths(p)));
+                if (stamps.length != projects.size()) {
+                    stamps = new long[projects.size()];
+                }
+                snapshot = new Snapshot(projects, pathsOfProjects, stamps);
+            }
+            return snapshot;
+        }
+    }
+
+    private static IndexedProject indexedProject(ProjectRenderer projectRenderer) {
+        return new IndexedProject() {
+            @Override
+            public Collection<Path> projectPaths() {
+                return projectRenderer.projectPaths();
+            }
+
+            @Override
+            public Optional<BinaryMessage> render(String path) {
+                return projectRenderer.render(path);
+            }
+        };
+    }
+
+    private static java.util.Set<String> paths(IndexedProject project) {
+        final var paths = new java.util.HashSet<String>();
+        project.projectPaths().forEach(p -> paths.add(normalize(p.toString())));
+        return java.util.Set.copyOf(paths);
+    }
+
+    private static String normalize(String path) {
+        if (path.startsWith("/")) {
+            return path.substring(1);
+        }
+        return path;
+    }
+
+    /**
+     * <p>Detects changes of the paths of a file system via the modification times of its folders,
+     * because a folder's modification time changes, when one of its entries is created, deleted or renamed.
+     * Only the folders, whose modification time changed, are listed again,
+     * so that the checks do not walk the whole file system.</p>
+     * <p>File systems, that are not located on the disk, are walked completely on each check instead.</p>
+     */
+    private static final class WatchedFileSystem {
+        private final FileSystemView fileSystem;
+        private final Optional<Path> root;
+        /**
+         * The folders are listed on the first check, so that {@link #watch(FileSystemView)} does not list these.
+         */
+        private Map<Path, FileTime> folders = null;
+        private java.util.Set<Path> paths = null;
+
+        private WatchedFileSystem(FileSystemView fileSystem) {
+            this.fileSystem = fileSystem;
+            root = fileSystem.javaLegacyPath(Path.of("")).filter(Files::isDirectory);
+        }
+
+        private synchronized boolean hasChanged() {
+            if (root.isEmpty()) {
+                final var newPaths = currentPaths();
+                if (newPaths.equals(paths)) {
+                    return false;
+                }
+                paths = newPaths;
+                return true;
+            }
+            if (folders == null) {
+                folders = new HashMap<>();
+                addFolders(root.get());
+                return true;
+            }
+            boolean changed = false;
+            for (final var folder : new ArrayList<>(folders.keySet())) {
+                if (!folders.containsKey(folder)) {
+                    continue;
+                }
+                final var modificationTime = modificationTime(folder);
+                if (modificationTime.isEmpty()) {
+                    folders.keySet().removeIf(f -> f.startsWith(folder));
+                    changed = true;
+                } else if (!modificationTime.get().equals(folders.get(folder))) {
+                    changed = true;
+                    folders.put(folder, modificationTime.get());
+                    addNewSubFolders(folder);
+                }
+            }
+            return changed;
+        }
+
+        /**
+         * Only the direct entries of the folder are listed,
+         * because changes in existing sub folders are detected via their own modification time.
+         *
+         * @param folder The folder, whose entries changed.
+         */
+        private void addNewSubFolders(Path folder) {
+            try (final var entries = Files.list(folder)) {
+                entries.filter(e -> Files.isDirectory(e) && !folders.containsKey(e)).forEach(this::addFolders);
+            } catch (IOException | UncheckedIOException e) {
+                // The folder was deleted during the listing, which is detected by the next check.
+            }
+        }
+
+        /**
+         * Stores the modification times of the given folder and all of its sub folders.
+         *
+         * @param folder A folder, that is not known yet.
+         */
+        private void addFolders(Path folder) {
+            try (final var walk = Files.walk(folder)) {
+                walk.filter(Files::isDirectory).forEach(f -> modificationTime(f).ifPresent(t -> folders.put(f, t)));
+            } catch (IOException | UncheckedIOException e) {
+                // The folder was deleted during the walk, which is detected by the next check.
+            }
+        }
+
+        private static Optional<FileTime> modificationTime(Path folder) {
+            try {
+                return Optional.of(Files.getLastModifiedTime(folder));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }
+
+        private java.util.Set<Path> currentPaths() {
+            try (final var walk = fileSystem.walkRecursively()) {
+                return walk.collect(Collectors.toUnmodifiableSet());
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private final List<IndexedProject> projects;
+        private final List<java.util.Set<String>> pathsOfProjects;
+        private final Map<String, Integer> index;
+        private final long[] stamps;
+
+        private Snapshot(List<IndexedProject> projects, List<java.util.Set<String>> pathsOfProjects, long[] stamps) {
+            this.projects = projects;
+            this.pathsOfProjects = List.copyOf(pathsOfProjects);
+            this.stamps = stamps;
+            final var newIndex = new HashMap<String, Integer>();
+            for (int i = 0; i < pathsOfProjects.size(); ++i) {
+                final var projectIndex = i;
+                pathsOfProjects.get(i).forEach(path -> newIndex.putIfAbsent(path, projectIndex));
+            }
+            index = Map.copyOf(newIndex);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+import java.time.Duration;
+
+/**
+ * This is the time between two checks of the file systems watched by the {@link ProjectPathIndex}.
+ */
+public class ProjectPathIndexCheckInterval implements Option<Duration> {
+    @Override public Duration defaultValue() {
+        return Duration.ofMinutes(1);
+    }
+}
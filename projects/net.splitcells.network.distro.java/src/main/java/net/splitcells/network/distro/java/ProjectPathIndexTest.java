@@ -0,0 +1,95 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+import net.splitcells.dem.utils.StringUtils;
+import net.splitcells.website.Format;
+import net.splitcells.website.server.processor.BinaryMessage;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.MapFileSystemView.mapFileSystemView;
+import static net.splitcells.network.distro.java.ProjectPathIndex.projectPathIndex;
+import static net.splitcells.network.distro.java.RenderedPageCache.renderedPageCache;
+
+public class ProjectPathIndexTest {
+    /**
+     * The sub-root project provides the same path as a project mounted at the root.
+     * The project registered first has to win, like it is the case for the linear probing.
+     */
+    @UnitTest
+    public void testPrecedence() {
+        final var rootProject = project("/net/splitcells/cin/text/index.html", "/index.html");
+        final var subRootProject = project("/net/splitcells/cin/text/index.html"
+                , "/net/splitcells/cin/text/other.html");
+        final var rootFirst = projectPathIndex(renderedPageCache(1024, 1024));
+        requireEquals(rootFirst.renderFile("/net/splitcells/cin/text/index.html"
+                , () -> List.of(rootProject, subRootProject)), rootProject.page);
+        requireEquals(rootFirst.renderFile("/net/splitcells/cin/text/other.html"
+                , () -> List.of(rootProject, subRootProject)), subRootProject.page);
+        final var subRootFirst = projectPathIndex(renderedPageCache(1024, 1024));
+        requireEquals(subRootFirst.renderFile("/net/splitcells/cin/text/index.html"
+                , () -> List.of(subRootProject, rootProject)), subRootProject.page);
+        requireEquals(subRootFirst.renderFile("/index.html"
+                , () -> List.of(subRootProject, rootProject)), rootProject.page);
+        requireEquals(subRootFirst.renderFile("/missing.html"
+                , () -> List.of(subRootProject, rootProject)), Optional.empty());
+    }
+
+    /**
+     * Only the project with the changed paths gets a new stamp,
+     * so that the cached pages of the other project are still used.
+     */
+    @UnitTest
+    public void testRefresh() {
+        final var cache = renderedPageCache(1024, 1024).withCachedProject("/", mapFileSystemView(Map.of()));
+        final var testSubject = projectPathIndex(cache);
+        final var staticProject = project("/static.html");
+        final var changingProject = project("/log-1.html");
+        final var projects = List.<ProjectPathIndex.IndexedProject>of(staticProject, changingProject);
+        requireEquals(testSubject.renderFile("/log-2.html", () -> projects), Optional.empty());
+        testSubject.renderFile("/static.html", () -> projects);
+        changingProject.paths.add(Path.of("/log-2.html"));
+        testSubject.refresh();
+        requireEquals(testSubject.renderFile("/log-2.html", () -> projects), changingProject.page);
+        testSubject.renderFile("/static.html", () -> projects);
+        requireEquals(cache.hits(), 1L);
+    }
+
+    private static TestProject project(String... paths) {
+        return new TestProject(paths);
+    }
+
+    private static final class TestProject implements ProjectPathIndex.IndexedProject {
+        private final List<Path> paths = new ArrayList<>();
+        private final Optional<BinaryMessage> page = Optional.of(BinaryMessage
+                .binaryMessage(StringUtils.toBytes("page"), Format.TEXT_PLAIN));
+
+        private TestProject(String... argPaths) {
+            for (final var path : argPaths) {
+                paths.add(Path.of(path));
+            }
+        }
+
+        @Override
+        public Collection<Path> projectPaths() {
+            return paths;
+        }
+
+        @Override
+        public Optional<BinaryMessage> render(String path) {
+            if (paths.contains(Path.of(path))) {
+                return page;
+            }
+            return Optional.empty();
+        }
+    }
+}
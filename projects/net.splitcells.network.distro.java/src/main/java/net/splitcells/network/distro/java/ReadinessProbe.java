@@ -0,0 +1,201 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.Optional;
+
+import static net.splitcells.dem.utils.ExecutionException.execException;
+import static net.splitcells.network.distro.java.StartupStatus.globalStartupStatus;
+
+/**
+ * <p>Waits in a daemon thread until the server accepts connections at its port.
+ * Thereafter, the first page of the server is requested once and the time to the first byte of the response is measured.
+ * The results are reported via {@link StartupStatus#globalStartupStatus()}.</p>
+ * <p>The probe is started by the launchers before the server.
+ * The address of the server is only known, when the server is configured.
+ * Therefore, the {@link DistroCell} provides the address via {@link #target(URI, Optional)},
+ * before the server is started.
+ * At this point, it is checked, that the port is not used by another program,
+ * which would otherwise be mistaken for the server.
+ * If the port is not opened before the deadline or the startup failed otherwise, the probe stops.</p>
+ * <p>If the server uses a generated certificate, only this certificate is trusted for the request,
+ * as it is not trusted by the default trust store.</p>
+ * <p>The probe thread has no {@link net.splitcells.dem.environment.Environment}.
+ * Therefore, all results including failures are only reported via the {@link StartupStatus}.</p>
+ * <p>There is only one instance for the whole program,
+ * because the launchers start the probe before the {@link net.splitcells.dem.environment.Environment}.</p>
+ */
+@JavaLegacy
+public class ReadinessProbe {
+    private static final int CONNECT_TIMEOUT_IN_MILLIS = 200;
+    private static final int RETRY_DELAY_IN_MILLIS = 100;
+    private static final int READ_TIMEOUT_IN_MILLIS = 60_000;
+    private static final long PORT_DEADLINE_IN_MILLIS = 10 * 60_000;
+    private static final ReadinessProbe GLOBAL = new ReadinessProbe();
+
+    public static ReadinessProbe globalReadinessProbe() {
+        return GLOBAL;
+    }
+
+    /**
+     * Reports exceptions of the server thread as a failed startup,
+     * in addition to the default handling of uncaught exceptions.
+     *
+     * @param server The thread, that starts the server.
+     * @return The given thread.
+     */
+    public static Thread reportingStartupFailures(Thread server) {
+        server.setUncaughtExceptionHandler((thread, error) -> {
+            globalStartupStatus().failed("The server could not be started: " + error);
+            thread.getThreadGroup().uncaughtException(thread, error);
+        });
+        return server;
+    }
+
+    private boolean isStarted = false;
+    private URI url;
+    private Optional<X509Certificate> trustedCertificate = Optional.empty();
+
+    private ReadinessProbe() {
+
+    }
+
+    /**
+     * Starts the probe, which waits for {@link #target(URI, Optional)}.
+     */
+    public synchronized void start() {
+        if (isStarted) {
+            return;
+        }
+        isStarted = true;
+        final var probe = new Thread(this::probe, "Readiness probe");
+        probe.setDaemon(true);
+        probe.start();
+    }
+
+    /**
+     * Provides the address of the server to the probe, if it is started.
+     * This has to be called before the server opens its port.
+     *
+     * @param url                The first page of the server.
+     * @param trustedCertificate The generated certificate of the server, which is not trusted by default.
+     * @throws net.splitcells.dem.utils.ExecutionException If the port is already used by another program.
+     */
+    public synchronized void target(URI url, Optional<X509Certificate> trustedCertificate) {
+        if (!isStarted) {
+            return;
+        }
+        if (isListening(url.getHost(), port(url))) {
+            final var problem = "Port " + port(url) + " is already used by another program.";
+            globalStartupStatus().failed(problem);
+            throw execException(problem);
+        }
+        this.url = url;
+        this.trustedCertificate = trustedCertificate;
+        notifyAll();
+    }
+
+    private void probe() {
+        final var deadline = System.currentTimeMillis() + PORT_DEADLINE_IN_MILLIS;
+        final URI currentUrl;
+        final Optional<X509Certificate> currentTrustedCertificate;
+        synchronized (this) {
+            while (url == null) {
+                final var remainingMillis = deadline - System.currentTimeMillis();
+                if (globalStartupStatus().isFailed()) {
+                    return;
+                }
+                if (remainingMillis <= 0) {
+                    globalStartupStatus().failed("The server was not configured in time.");
+                    return;
+                }
+                try {
+                    wait(Math.min(remainingMillis, RETRY_DELAY_IN_MILLIS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            currentUrl = url;
+            currentTrustedCertificate = trustedCertificate;
+        }
+        final var port = port(currentUrl);
+        globalStartupStatus().report("Waiting for port " + port + ".");
+        while (!isListening(currentUrl.getHost(), port)) {
+            if (globalStartupStatus().isFailed()) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                globalStartupStatus().failed("Port " + port + " was not opened in time.");
+                return;
+            }
+            try {
+                Thread.sleep(RETRY_DELAY_IN_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        globalStartupStatus().report("Port " + port + " is open. Requesting first page.");
+        try {
+            final var requestStart = System.nanoTime();
+            final var connection = (HttpURLConnection) currentUrl.toURL().openConnection();
+            if (connection instanceof HttpsURLConnection && currentTrustedCertificate.isPresent()) {
+                final var httpsConnection = (HttpsURLConnection) connection;
+                httpsConnection.setSSLSocketFactory(trustingSslContext(currentTrustedCertificate.get())
+                        .getSocketFactory());
+                // Only the given certificate is trusted, which does not have to contain the local host name.
+                httpsConnection.setHostnameVerifier((host, session) -> true);
+            }
+            connection.setReadTimeout(READ_TIMEOUT_IN_MILLIS);
+            try (final var response = connection.getInputStream()) {
+                response.read();
+                final var timeToFirstByte = (System.nanoTime() - requestStart) / 1_000_000;
+                globalStartupStatus().ready("Ready. Time to first byte was " + timeToFirstByte + " ms.");
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            globalStartupStatus().ready("Ready, but the first page could not be requested: " + e);
+        }
+    }
+
+    private static SSLContext trustingSslContext(X509Certificate certificate) throws IOException
+            , GeneralSecurityException {
+        final var trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        trustStore.load(null, null);
+        trustStore.setCertificateEntry("server", certificate);
+        final var trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(trustStore);
+        final var sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, trustManagers.getTrustManagers(), null);
+        return sslContext;
+    }
+
+    private static int port(URI url) {
+        return url.getPort() != -1 ? url.getPort() : "https".equals(url.getScheme()) ? 443 : 80;
+    }
+
+    private static boolean isListening(String host, int port) {
+        try (final var socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_IN_MILLIS);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.FileSystemView;
+import net.splitcells.website.server.processor.BinaryMessage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>Caches rendered pages of projects, whose content rarely changes during the runtime,
+ * like the CommonMark based projects.
+ * Only the paths starting with the prefix of a project registered via {@link #withCachedProject(String, FileSystemView)}
+ * are cached.
+ * Projects with changing content like logs, should therefore not be registered.</p>
+ * <p>Only rendered pages are cached, which are the paths ending with `.html`,
+ * because other files like images are served without rendering them.
+ * Pages bigger than the given page size limit are not cached either.</p>
+ * <p>The cache entries are keyed by the project, the path, the modification stamp of the project and
+ * the modification time of the page's source file.
+ * If the stamp of a project or the source file is changed, the old entries are not used anymore and
+ * are eventually evicted.
+ * The source file is looked up via the usual source folders of the projects.
+ * Sources, that are not located on the file system, like class resources, do not change during the runtime
+ * and therefore have no modification time.</p>
+ * <p>The total number of bytes of the cached pages is limited and the least recently used entry is evicted first.</p>
+ */
+@JavaLegacy
+public class RenderedPageCache {
+    /**
+     * These are the folders of the project's sources, that are rendered to pages,
+     * together with the suffix of their source files.
+     */
+    private static final List<String[]> SOURCE_FOLDERS = List.of(new String[]{"src/main/md/", ".md"}
+            , new String[]{"src/main/xml/", ".xml"}
+            , new String[]{"src/main/resources/html/", ".html"});
+    private static final String PAGE_SUFFIX = ".html";
+
+    public static RenderedPageCache renderedPageCache(long maxBytes, int maxPageBytes) {
+        return new RenderedPageCache(maxBytes, maxPageBytes);
+    }
+
+    private final long maxBytes;
+    private final int maxPageBytes;
+    private final Map<String, FileSystemView> cachedProjects = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, BinaryMessage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private RenderedPageCache(long argMaxBytes, int argMaxPageBytes) {
+        maxBytes = argMaxBytes;
+        maxPageBytes = argMaxPageBytes;
+    }
+
+    /**
+     * @param pathPrefix The prefix of the paths of the project, that are cached.
+     * @param sources    The file system of the project, that contains the source files of the pages.
+     * @return This.
+     */
+    public RenderedPageCache withCachedProject(String pathPrefix, FileSystemView sources) {
+        cachedProjects.put(pathPrefix, sources);
+        return this;
+    }
+
+    /**
+     * @param project  Identifies the project, that renders the path.
+     * @param stamp    The modification stamp of the project.
+     * @param path     The requested path.
+     * @param renderer Renders the path, if the rendered page is not cached.
+     * @return The rendered page.
+     */
+    public Optional<BinaryMessage> render(int project, long stamp, String path
+            , Supplier<Optional<BinaryMessage>> renderer) {
+        final var sources = sources(path);
+        if (sources.isEmpty()) {
+            return renderer.get();
+        }
+        final var key = project + ":" + stamp + ":" + sourceModificationTime(sources.get(), path) + ":" + path;
+        synchronized (entries) {
+            final var cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return Optional.of(cached);
+            }
+        }
+        misses.incrementAndGet();
+        final var rendered = renderer.get();
+        if (rendered.isPresent() && rendered.get().getContent().length <= maxPageBytes) {
+            put(key, rendered.get());
+        }
+        return rendered;
+    }
+
+    private void put(String key, BinaryMessage page) {
+        synchronized (entries) {
+            final var replaced = entries.put(key, page);
+            if (replaced != null) {
+                bytes -= replaced.getContent().length;
+            }
+            bytes += page.getContent().length;
+            final var eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getContent().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @param sources The file system of the project.
+     * @param path    The requested path.
+     * @return The latest modification time of the files, that may be the source of the page,
+     * or zero, if these are not located on the file system.
+     */
+    private static long sourceModificationTime(FileSystemView sources, String path) {
+        final var relativePath = path.startsWith("/") ? path.substring(1) : path;
+        final var pathWithoutSuffix = relativePath.substring(0, relativePath.length() - PAGE_SUFFIX.length());
+        long modificationTime = 0;
+        for (final var sourceFolder : SOURCE_FOLDERS) {
+            final var sourceFile = sources.javaLegacyPath(Path.of(sourceFolder[0] + pathWithoutSuffix + sourceFolder[1]));
+            if (sourceFile.isPresent() && Files.isRegularFile(sourceFile.get())) {
+                try {
+                    modificationTime = Math.max(modificationTime
+                            , Files.getLastModifiedTime(sourceFile.get()).toMillis());
+                } catch (IOException e) {
+                    // The file was removed in the meantime, which is detected by the project's stamp.
+                }
+            }
+        }
+        return modificationTime;
+    }
+
+    /**
+     * @param path The requested path.
+     * @return The sources of the project, if the path is cacheable.
+     */
+    private Optional<FileSystemView> sources(String path) {
+        if (!path.endsWith(PAGE_SUFFIX)) {
+            return Optional.empty();
+        }
+        for (final var cachedProject : cachedProjects.entrySet()) {
+            if (path.startsWith(cachedProject.getKey())) {
+                return Optional.of(cachedProject.getValue());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean isCacheable(String path) {
+        return sources(path).isPresent();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return The total number of bytes of the cached pages.
+     */
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+}
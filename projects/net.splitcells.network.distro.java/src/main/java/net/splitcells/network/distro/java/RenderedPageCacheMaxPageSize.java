@@ -0,0 +1,15 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.config.framework.Option;
+
+/**
+ * Rendered pages with more bytes than this are not stored in the {@link RenderedPageCache}.
+ */
+public class RenderedPageCacheMaxPageSize implements Option<Integer> {
+    @Override public Integer defaultValue() {
+        return 1024 * 1024;
+    }
+}
@@ -0,0 +1,61 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+import net.splitcells.dem.utils.StringUtils;
+import net.splitcells.website.Format;
+import net.splitcells.website.server.processor.BinaryMessage;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.MapFileSystemView.mapFileSystemView;
+import static net.splitcells.network.distro.java.RenderedPageCache.renderedPageCache;
+
+public class RenderedPageCacheTest {
+    /**
+     * The cache holds two pages of 4 bytes.
+     */
+    @UnitTest
+    public void testEviction() {
+        final var testSubject = renderedPageCache(8, 4)
+                .withCachedProject("/cached/", mapFileSystemView(Map.of()));
+        final var page = page("page");
+        testSubject.render(0, 0, "/cached/a.html", () -> page);
+        testSubject.render(0, 0, "/cached/b.html", () -> page);
+        testSubject.render(0, 0, "/cached/a.html", () -> page);
+        testSubject.render(0, 0, "/cached/c.html", () -> page);
+        testSubject.render(0, 0, "/not-cached/d.html", () -> page);
+        requireEquals(testSubject.hits(), 1L);
+        requireEquals(testSubject.misses(), 3L);
+        requireEquals(testSubject.evictions(), 1L);
+        requireEquals(testSubject.size(), 2);
+        requireEquals(testSubject.bytes(), 8L);
+        testSubject.render(0, 0, "/cached/a.html", () -> page);
+        requireEquals(testSubject.hits(), 2L);
+        testSubject.render(0, 1, "/cached/a.html", () -> page);
+        requireEquals(testSubject.misses(), 4L);
+    }
+
+    /**
+     * Files, that are not rendered, and pages bigger than the page size limit are not cached.
+     */
+    @UnitTest
+    public void testUncachedBodies() {
+        final var testSubject = renderedPageCache(1024, 4)
+                .withCachedProject("/cached/", mapFileSystemView(Map.of()));
+        testSubject.render(0, 0, "/cached/image.png", () -> page("png"));
+        testSubject.render(0, 0, "/cached/big.html", () -> page("big page"));
+        requireEquals(testSubject.isCacheable("/cached/image.png"), false);
+        requireEquals(testSubject.isCacheable("/cached/big.html"), true);
+        requireEquals(testSubject.size(), 0);
+        requireEquals(testSubject.bytes(), 0L);
+    }
+
+    private static Optional<BinaryMessage> page(String content) {
+        return Optional.of(BinaryMessage.binaryMessage(StringUtils.toBytes(content), Format.TEXT_PLAIN));
+    }
+}
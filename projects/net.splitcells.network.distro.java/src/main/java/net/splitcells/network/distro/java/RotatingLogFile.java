@@ -0,0 +1,204 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.data.set.list.AppendableList;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.communication.Sender;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Writes messages as lines into a buffered log file,
+ * so that not every message causes its own write to the disk.
+ * The buffer is flushed regularly by a daemon thread, so that the file is up-to-date for the users.
+ * Errors of these flushes are reported via the {@link Thread.UncaughtExceptionHandler} of the daemon thread,
+ * as this file may be the destination of the logs.</p>
+ * <p>The file is rotated, if it gets bigger than the size limit or older than the rotation interval.
+ * During a rotation the file `name.suffix` is renamed to `name.1.suffix`,
+ * `name.1.suffix` to `name.2.suffix` and so on.
+ * Only the given number of rotated files is kept.</p>
+ * <p>An existing log file of an earlier run is either rotated as well or deleted.</p>
+ */
+@JavaLegacy
+public class RotatingLogFile implements Sender<String> {
+    /**
+     * @param file              The path of the current log file.
+     * @param sizeLimit         The maximum number of bytes of one log file.
+     * @param rotationInterval  The maximum time, during which messages are written into the same file.
+     * @param rotatedFileCount  The number of rotated files, that are kept.
+     * @param flushInterval     The maximum time, until a message is written to the file.
+     * @param keepEarlierRuns   Whether a log file of an earlier run is rotated instead of deleted.
+     * @return Writes into the given file.
+     */
+    public static RotatingLogFile rotatingLogFile(Path file, long sizeLimit, Duration rotationInterval
+            , int rotatedFileCount, Duration flushInterval, boolean keepEarlierRuns) {
+        return new RotatingLogFile(file, sizeLimit, rotationInterval, rotatedFileCount, flushInterval
+                , keepEarlierRuns);
+    }
+
+    private final Path file;
+    private final String fileName;
+    private final String suffix;
+    private final long sizeLimit;
+    private final long rotationIntervalInMillis;
+    private final int rotatedFileCount;
+    private final ScheduledExecutorService flusher;
+    private BufferedWriter writer;
+    private long size;
+    private long openedAt;
+    private boolean isClosed = false;
+
+    private RotatingLogFile(Path file, long sizeLimit, Duration rotationInterval, int rotatedFileCount
+            , Duration flushInterval, boolean keepEarlierRuns) {
+        this.file = file;
+        final var completeFileName = file.getFileName().toString();
+        final var suffixStart = completeFileName.lastIndexOf('.');
+        if (suffixStart > 0) {
+            fileName = completeFileName.substring(0, suffixStart);
+            suffix = completeFileName.substring(suffixStart);
+        } else {
+            fileName = completeFileName;
+            suffix = "";
+        }
+        this.sizeLimit = sizeLimit;
+        rotationIntervalInMillis = rotationInterval.toMillis();
+        this.rotatedFileCount = rotatedFileCount;
+        try {
+            if (keepEarlierRuns) {
+                shiftRotatedFiles();
+            } else {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw execException(tree("Could not prepare log file.")
+                    .withProperty("file", file.toString()), e);
+        }
+        open();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "Log file flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            // An exception would cancel all further flushes.
+            try {
+                flush();
+            } catch (Throwable t) {
+                final var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            }
+        }, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized <R extends AppendableList<String>> R append(String arg) {
+        if (isClosed) {
+            return (R) this;
+        }
+        final var line = arg + "\n";
+        final var lineSize = line.getBytes(StandardCharsets.UTF_8).length;
+        if (size > 0 && (size + lineSize > sizeLimit || System.currentTimeMillis() - openedAt > rotationIntervalInMillis)) {
+            rotate();
+        }
+        try {
+            writer.write(line);
+        } catch (IOException e) {
+            throw execException(tree("Could not write to log file.")
+                    .withProperty("file", file.toString()), e);
+        }
+        size += lineSize;
+        return (R) this;
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (isClosed) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw execException(tree("Could not flush log file.")
+                    .withProperty("file", file.toString()), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (isClosed) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw execException(tree("Could not close log file.")
+                    .withProperty("file", file.toString()), e);
+        } finally {
+            isClosed = true;
+        }
+    }
+
+    /**
+     * @param index The number of the rotated file. Zero is the current log file.
+     * @return The path of the rotated file.
+     */
+    public Path rotatedFile(int index) {
+        if (index == 0) {
+            return file;
+        }
+        return file.resolveSibling(fileName + "." + index + suffix);
+    }
+
+    private void rotate() {
+        try {
+            writer.close();
+            shiftRotatedFiles();
+        } catch (IOException e) {
+            throw execException(tree("Could not rotate log file.")
+                    .withProperty("file", file.toString()), e);
+        }
+        open();
+    }
+
+    private void shiftRotatedFiles() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Files.deleteIfExists(rotatedFile(rotatedFileCount));
+        for (int i = rotatedFileCount - 1; i >= 0; --i) {
+            if (Files.exists(rotatedFile(i))) {
+                Files.move(rotatedFile(i), rotatedFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private void open() {
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file
+                    , StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+                    , StandardCharsets.UTF_8), 64 * 1024);
+        } catch (IOException e) {
+            throw execException(tree("Could not open log file.")
+                    .withProperty("file", file.toString()), e);
+        }
+        size = 0;
+        openedAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,65 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.RotatingLogFile.rotatingLogFile;
+
+public class RotatingLogFileTest {
+    @UnitTest
+    public void testRotation() throws IOException {
+        final var folder = Files.createTempDirectory("rotating-log-file-test");
+        try {
+            final var testSubject = rotatingLogFile(folder.resolve("log.md"), 10, Duration.ofDays(1), 2
+                    , Duration.ofDays(1), false);
+            testSubject.append("first");
+            testSubject.append("second");
+            testSubject.append("third");
+            testSubject.append("fourth");
+            testSubject.close();
+            requireEquals(Files.readString(testSubject.rotatedFile(0)), "fourth\n");
+            requireEquals(Files.readString(testSubject.rotatedFile(1)), "third\n");
+            requireEquals(Files.readString(testSubject.rotatedFile(2)), "second\n");
+            requireEquals(Files.exists(testSubject.rotatedFile(3)), false);
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+
+    @UnitTest
+    public void testKeepEarlierRuns() throws IOException {
+        final var folder = Files.createTempDirectory("rotating-log-file-test");
+        try {
+            final var earlierRun = rotatingLogFile(folder.resolve("log.md"), 1000, Duration.ofDays(1), 2
+                    , Duration.ofDays(1), false);
+            earlierRun.append("earlier run");
+            earlierRun.close();
+            final var testSubject = rotatingLogFile(folder.resolve("log.md"), 1000, Duration.ofDays(1), 2
+                    , Duration.ofDays(1), true);
+            testSubject.append("current run");
+            testSubject.close();
+            requireEquals(Files.readString(testSubject.rotatedFile(0)), "current run\n");
+            requireEquals(Files.readString(testSubject.rotatedFile(1)), "earlier run\n");
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+
+    private static void deleteFolder(Path folder) throws IOException {
+        try (final var files = Files.walk(folder)) {
+            for (final var file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.Environment;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.lang.tree.Tree;
+import net.splitcells.dem.resource.communication.log.LogLevel;
+import net.splitcells.dem.resource.communication.log.Logs;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Stops the program in an orderly way, instead of dropping buffered logs and open resources.
+ * Resources register a shutdown step, when these are started.
+ * During the shutdown, the steps are executed in the reverse order of their registration,
+ * so that resources are closed before the resources they depend on.
+ * For instance, the log sinks are registered first and are therefore closed last,
+ * so that the shutdown of other resources can still be logged.</p>
+ * <p>The same shutdown is used by the GUI via {@link #shutdown()} and by `SIGTERM` via a shutdown hook,
+ * which is registered with the first step.
+ * The shutdown is executed only once, regardless of how often it is triggered.
+ * Further callers wait until the running shutdown is completed or its deadline is reached.</p>
+ * <p>All steps together have to complete before the deadline.
+ * A step, that does not complete in time, is abandoned and the remaining steps are executed anyway.</p>
+ * <p>Problems of the steps are logged via the {@link Logs} of the {@link Environment} given by
+ * {@link #withEnvironment(Environment)},
+ * because the shutdown hook is executed by a thread without an {@link Environment}.
+ * Without an {@link Environment}, these are reported via the {@link Thread.UncaughtExceptionHandler}
+ * of the thread executing the shutdown.</p>
+ * <p>There is only one instance for the whole program, because the shutdown hook is global as well.</p>
+ */
+@JavaLegacy
+public class ShutdownCoordinator {
+    private static final ShutdownCoordinator GLOBAL = new ShutdownCoordinator(Duration.ofSeconds(30));
+
+    public static ShutdownCoordinator globalShutdownCoordinator() {
+        return GLOBAL;
+    }
+
+    public static ShutdownCoordinator shutdownCoordinator(Duration deadline) {
+        return new ShutdownCoordinator(deadline);
+    }
+
+    private final List<ShutdownStep> steps = new ArrayList<>();
+    private final Duration deadline;
+    private final CountDownLatch completion = new CountDownLatch(1);
+    private volatile Environment environment;
+    private boolean isShutdownHookRegistered = false;
+    private boolean isShutDown = false;
+    private long deadlineInNanos;
+
+    private ShutdownCoordinator(Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * @param env The environment, whose {@link Logs} are used for the problems of the steps.
+     * @return This.
+     */
+    public ShutdownCoordinator withEnvironment(Environment env) {
+        environment = env;
+        return this;
+    }
+
+    /**
+     * @param name Describes the step for the logs.
+     * @param step Closes a resource.
+     * @return This.
+     */
+    public ShutdownCoordinator register(String name, Runnable step) {
+        synchronized (this) {
+            if (!isShutDown) {
+                steps.add(new ShutdownStep(name, step));
+                if (this == GLOBAL && !isShutdownHookRegistered) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "Shutdown coordinator"));
+                    isShutdownHookRegistered = true;
+                }
+                return this;
+            }
+        }
+        step.run();
+        return this;
+    }
+
+    /**
+     * Executes all registered steps in reverse order and waits until these are completed or the deadline is reached.
+     * If the shutdown was already started, this waits for the completion or the deadline of the running shutdown.
+     * The steps are executed without holding the lock of this,
+     * so that concurrent callers are not blocked by a hanging step beyond the deadline.
+     */
+    public void shutdown() {
+        final List<ShutdownStep> stepsToExecute;
+        final long currentDeadlineInNanos;
+        synchronized (this) {
+            if (isShutDown) {
+                currentDeadlineInNanos = deadlineInNanos;
+                stepsToExecute = null;
+            } else {
+                isShutDown = true;
+                deadlineInNanos = System.nanoTime() + deadline.toNanos();
+                currentDeadlineInNanos = deadlineInNanos;
+                stepsToExecute = new ArrayList<>(steps);
+                steps.clear();
+            }
+        }
+        if (stepsToExecute == null) {
+            awaitCompletion(currentDeadlineInNanos);
+            return;
+        }
+        try {
+            execute(stepsToExecute, currentDeadlineInNanos);
+        } finally {
+            completion.countDown();
+        }
+    }
+
+    private void execute(List<ShutdownStep> stepsToExecute, long currentDeadlineInNanos) {
+        for (int i = stepsToExecute.size() - 1; i >= 0; --i) {
+            final var step = stepsToExecute.get(i);
+            final var remainingNanos = currentDeadlineInNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                report(tree("Shutdown deadline reached before the step.").withProperty("step", step.name)
+                        , null);
+                continue;
+            }
+            final var stepThread = new Thread(() -> {
+                try {
+                    step.step.run();
+                } catch (Throwable t) {
+                    report(tree("Shutdown step failed.").withProperty("step", step.name), t);
+                }
+            }, "Shutdown step: " + step.name);
+            stepThread.setDaemon(true);
+            stepThread.start();
+            try {
+                stepThread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (stepThread.isAlive()) {
+                report(tree("Shutdown step did not complete before the deadline.").withProperty("step", step.name)
+                        , null);
+            }
+        }
+    }
+
+    private void awaitCompletion(long currentDeadlineInNanos) {
+        try {
+            completion.await(Math.max(0, currentDeadlineInNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param message Describes the problem.
+     * @param error   This is the cause of the problem, if it is an error.
+     */
+    private void report(Tree message, Throwable error) {
+        final var currentEnvironment = environment;
+        if (currentEnvironment == null) {
+            final var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread
+                    , error == null ? execException(message) : execException(message, error));
+            return;
+        }
+        final var logs = currentEnvironment.config().configValue(Logs.class);
+        if (error == null) {
+            logs.append(message, LogLevel.WARNING);
+        } else {
+            logs.warn(message, error);
+        }
+    }
+
+    private static final class ShutdownStep {
+        private final String name;
+        private final Runnable step;
+
+        private ShutdownStep(String name, Runnable step) {
+            this.name = name;
+            this.step = step;
+        }
+    }
+}
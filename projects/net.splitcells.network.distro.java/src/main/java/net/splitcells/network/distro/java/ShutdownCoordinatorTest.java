@@ -0,0 +1,51 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.ShutdownCoordinator.shutdownCoordinator;
+
+public class ShutdownCoordinatorTest {
+    @UnitTest
+    public void testReverseOrder() {
+        final var executedSteps = new ArrayList<String>();
+        final var testSubject = shutdownCoordinator(Duration.ofSeconds(10))
+                .register("first", () -> executedSteps.add("first"))
+                .register("second", () -> executedSteps.add("second"));
+        testSubject.shutdown();
+        testSubject.shutdown();
+        requireEquals(executedSteps, List.of("second", "first"));
+    }
+
+    /**
+     * A concurrent shutdown waits for the running shutdown only until its deadline,
+     * even if a step does not complete.
+     */
+    @UnitTest
+    public void testConcurrentShutdownWithHangingStep() throws InterruptedException {
+        final var hangingStepStarted = new CountDownLatch(1);
+        final var testSubject = shutdownCoordinator(Duration.ofMillis(200))
+                .register("hanging", () -> {
+                    hangingStepStarted.countDown();
+                    LockSupport.park();
+                });
+        final var firstShutdown = new Thread(testSubject::shutdown);
+        firstShutdown.setUncaughtExceptionHandler((thread, error) -> {
+        });
+        firstShutdown.start();
+        hangingStepStarted.await();
+        final var start = System.nanoTime();
+        testSubject.shutdown();
+        requireEquals(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(10)) < 0, true);
+        firstShutdown.join();
+    }
+}
@@ -10,12 +10,20 @@ import net.splitcells.dem.environment.Environment;
 import net.splitcells.dem.environment.config.ProgramName;
 import net.splitcells.dem.environment.resource.Console;
 import net.splitcells.dem.resource.communication.Sender;
+import net.splitcells.dem.resource.communication.log.MessageFilter;
+import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.function.Consumer;
 
 import static ch.qos.logback.classic.util.ContextInitializer.CONFIG_FILE_PROPERTY;
 import static net.splitcells.dem.Dem.configWrite;
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.communication.log.LogMessageI.logMessage;
+import static net.splitcells.network.distro.java.AsyncSender.asyncSender;
+import static net.splitcells.network.distro.java.ShutdownCoordinator.globalShutdownCoordinator;
+import static net.splitcells.network.distro.java.StartupProfiler.startupProfiler;
+import static net.splitcells.network.distro.java.Slf4jStructuredLog.slf4jStructuredLog;
 
 /**
  * <p>This method sets up a global config for logging via slf4j for the current class loader and
@@ -30,6 +38,13 @@ import static net.splitcells.dem.Dem.configWrite;
  * a new class loader with the same type and arguments would also be enough.
  * In order to easy development, it was decided to just use one slf4j config for now,
  * and to implement more complex settings, when a concrete need for that arises.</p>
+ * <p>The messages of the {@link Console} are written via an {@link AsyncSender},
+ * so that the callers do not wait for the disk I/O of the logger.</p>
+ * <p>Messages logged via {@link CurrentStructuredLog} are passed to slf4j with their properties as key value pairs,
+ * if these are enabled by the logger and the {@link MessageFilter}.
+ * These are written via the {@link AsyncSender} of the {@link Console} as well,
+ * so that all messages are written in the order of their creation.
+ * These are written as JSON lines via {@link JsonLinesEncoder}.</p>
  * <p>IDEA Consider storing logs in database, so that SQL can be used for analysis:
  * https://stackoverflow.com/questions/59573185/springboot-to-store-logs-in-h2-db-logback-configuration-error-detected</p>
  */
@@ -42,28 +57,46 @@ public class Slf4jCell implements Cell {
         return "network.distro.java";
     }
 
-    @Override public void accept(Environment env) {
-        final var programName = configWrite().configValue(ProgramName.class);
-        System.setProperty("net.splitcells.dem.environment.config.ProgramName", programName.toLowerCase());
-        System.setProperty(CONFIG_FILE_PROPERTY, "net/splitcells/network/distro/java/logback/config.xml");
-        final var logger = LoggerFactory.getLogger(programName);
-        configWrite().withConfigValue(Console.class
-                , new Sender<>() {
-                    @Override
-                    public <R extends AppendableList<String>> R append(String arg) {
-                        logger.info(arg);
-                        return (R) this;
-                    }
+    /**
+     * This is public, so that the benchmarks use the same sender as the {@link Console}.
+     *
+     * @param logger The destination of the messages.
+     * @return A sender, that writes every message synchronously to the given logger.
+     */
+    public static Sender<String> loggerSender(Logger logger) {
+        return new Sender<>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <R extends AppendableList<String>> R append(String arg) {
+                logger.info(arg);
+                return (R) this;
+            }
+
+            @Override
+            public void close() {
+                // The logger API does not provide a close method.
+            }
 
-                    @Override
-                    public void close() {
-                        // The logger API does not provide a close method.
-                    }
+            @Override
+            public void flush() {
+                // The logger API does not provide a flush method.
+            }
+        };
+    }
 
-                    @Override
-                    public void flush() {
-                        // The logger API does not provide a flush method.
-                    }
-                });
+    @Override public void accept(Environment env) {
+        startupProfiler().phase("Slf4jCell", () -> {
+            final var programName = configWrite().configValue(ProgramName.class);
+            System.setProperty("net.splitcells.dem.environment.config.ProgramName", programName.toLowerCase());
+            System.setProperty(CONFIG_FILE_PROPERTY, "net/splitcells/network/distro/java/logback/config.xml");
+            final var logger = LoggerFactory.getLogger(programName);
+            final var console = asyncSender(loggerSender(logger)
+                    , configWrite().configValue(AsyncLogCapacity.class)
+                    , configWrite().configValue(AsyncLogOverflowPolicy.class));
+            globalShutdownCoordinator().register("Write remaining log messages.", console::close);
+            configWrite().withConfigValue(Console.class, console);
+            configWrite().withConfigValue(CurrentStructuredLog.class, slf4jStructuredLog(logger, console
+                    , level -> env.config().configValue(MessageFilter.class).test(logMessage(tree(""), level))));
+        });
     }
 }
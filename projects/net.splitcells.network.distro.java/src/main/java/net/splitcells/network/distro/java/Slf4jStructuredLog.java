@@ -0,0 +1,98 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.lang.tree.Tree;
+import net.splitcells.dem.resource.communication.log.LogLevel;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+import static net.splitcells.dem.resource.communication.log.LogLevel.DEBUG;
+import static net.splitcells.dem.resource.communication.log.LogLevel.INFO;
+import static net.splitcells.dem.resource.communication.log.LogLevel.TRACE;
+import static net.splitcells.dem.resource.communication.log.LogLevel.WARNING;
+
+/**
+ * <p>Passes the properties of a message as slf4j key value pairs,
+ * instead of rendering the message with its properties into one string.
+ * If the level of the message is disabled for the logger or by the given message filter,
+ * the message is not processed at all.</p>
+ * <p>Children of the message, that are not properties, are passed with their position as the key.</p>
+ * <p>The event is prepared by the caller and logged via the given {@link Executor}.
+ * By using the {@link AsyncSender} of the console, the structured messages keep their order relative to the
+ * other console messages and the caller does not wait for the disk I/O of the logger.
+ * Therefore, the thread of the logged event is the one of the writer and
+ * the name of the caller's thread is passed as the key value pair {@link #CALLER_THREAD}.</p>
+ */
+@JavaLegacy
+public class Slf4jStructuredLog implements StructuredLog {
+    public static final String CALLER_THREAD = "caller thread";
+
+    /**
+     * @param logger        The logger of the messages.
+     * @param writer        Logs the prepared events.
+     * @param messageFilter Determines, whether messages of a level are logged,
+     *                      in addition to the level of the logger.
+     * @return A structured log.
+     */
+    public static Slf4jStructuredLog slf4jStructuredLog(Logger logger, Executor writer
+            , Predicate<LogLevel> messageFilter) {
+        return new Slf4jStructuredLog(logger, writer, messageFilter);
+    }
+
+    private final Logger logger;
+    private final Executor writer;
+    private final Predicate<LogLevel> messageFilter;
+
+    private Slf4jStructuredLog(Logger logger, Executor writer, Predicate<LogLevel> messageFilter) {
+        this.logger = logger;
+        this.writer = writer;
+        this.messageFilter = messageFilter;
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return logger.isEnabledForLevel(slf4jLevel(level)) && messageFilter.test(level);
+    }
+
+    @Override
+    public void append(Tree message, LogLevel level) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        final var event = logger.atLevel(slf4jLevel(level));
+        event.addKeyValue(CALLER_THREAD, Thread.currentThread().getName());
+        final var children = message.children();
+        for (int i = 0; i < children.size(); ++i) {
+            final var child = children.get(i);
+            if (child.children().size() == 1 && child.children().get(0).children().isEmpty()) {
+                event.addKeyValue(child.name(), child.children().get(0).name());
+            } else {
+                event.addKeyValue("" + i, child.toString());
+            }
+        }
+        final var name = message.name();
+        writer.execute(() -> event.log(name));
+    }
+
+    static Level slf4jLevel(LogLevel level) {
+        if (!level.greaterThan(TRACE)) {
+            return Level.TRACE;
+        }
+        if (!level.greaterThan(DEBUG)) {
+            return Level.DEBUG;
+        }
+        if (!level.greaterThan(INFO)) {
+            return Level.INFO;
+        }
+        if (!level.greaterThan(WARNING)) {
+            return Level.WARN;
+        }
+        return Level.ERROR;
+    }
+}
@@ -0,0 +1,92 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.splitcells.dem.resource.communication.log.LogLevel;
+import net.splitcells.dem.testing.annotations.UnitTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.Slf4jStructuredLog.CALLER_THREAD;
+import static net.splitcells.network.distro.java.Slf4jStructuredLog.slf4jStructuredLog;
+
+public class Slf4jStructuredLogTest {
+    @UnitTest
+    public void testLevelMapping() {
+        requireEquals(Slf4jStructuredLog.slf4jLevel(LogLevel.TRACE), org.slf4j.event.Level.TRACE);
+        requireEquals(Slf4jStructuredLog.slf4jLevel(LogLevel.DEBUG), org.slf4j.event.Level.DEBUG);
+        requireEquals(Slf4jStructuredLog.slf4jLevel(LogLevel.INFO), org.slf4j.event.Level.INFO);
+        requireEquals(Slf4jStructuredLog.slf4jLevel(LogLevel.WARNING), org.slf4j.event.Level.WARN);
+        requireEquals(Slf4jStructuredLog.slf4jLevel(LogLevel.ERROR), org.slf4j.event.Level.ERROR);
+        requireEquals(Slf4jStructuredLog.slf4jLevel(LogLevel.CRITICAL), org.slf4j.event.Level.ERROR);
+    }
+
+    @UnitTest
+    public void testKeyValuePairs() {
+        final var appender = appender(Level.INFO);
+        final var testSubject = slf4jStructuredLog(appender.logger, Runnable::run, level -> true);
+        testSubject.append(tree("message").withProperty("domain", "example.org"), LogLevel.ERROR);
+        requireEquals(appender.list.size(), 1);
+        final var event = appender.list.get(0);
+        requireEquals(event.getLevel(), Level.ERROR);
+        requireEquals(event.getFormattedMessage(), "message");
+        requireEquals(event.getKeyValuePairs().get(0).key, CALLER_THREAD);
+        requireEquals(event.getKeyValuePairs().get(0).value, Thread.currentThread().getName());
+        requireEquals(event.getKeyValuePairs().get(1).key, "domain");
+        requireEquals(event.getKeyValuePairs().get(1).value, "example.org");
+    }
+
+    /**
+     * The supplier of a message is not called,
+     * if the level is disabled by the logger or the message filter.
+     */
+    @UnitTest
+    public void testDisabledLevel() {
+        final var appender = appender(Level.WARN);
+        final var creations = new AtomicInteger();
+        final Predicate<LogLevel> messageFilter = level -> level != LogLevel.ERROR;
+        final var testSubject = slf4jStructuredLog(appender.logger, Runnable::run, messageFilter);
+        testSubject.append(() -> {
+            creations.incrementAndGet();
+            return tree("info");
+        }, LogLevel.INFO);
+        testSubject.append(() -> {
+            creations.incrementAndGet();
+            return tree("error");
+        }, LogLevel.ERROR);
+        requireEquals(creations.get(), 0);
+        requireEquals(appender.list.size(), 0);
+        testSubject.append(() -> {
+            creations.incrementAndGet();
+            return tree("warning");
+        }, LogLevel.WARNING);
+        requireEquals(creations.get(), 1);
+        requireEquals(appender.list.get(0).getLevel(), Level.WARN);
+    }
+
+    private static TestAppender appender(Level level) {
+        final var context = new LoggerContext();
+        final var appender = new TestAppender(context.getLogger("test"));
+        appender.setContext(context);
+        appender.start();
+        appender.logger.setLevel(level);
+        appender.logger.addAppender(appender);
+        return appender;
+    }
+
+    private static final class TestAppender extends ListAppender<ILoggingEvent> {
+        private final ch.qos.logback.classic.Logger logger;
+
+        private TestAppender(ch.qos.logback.classic.Logger logger) {
+            this.logger = logger;
+        }
+    }
+}
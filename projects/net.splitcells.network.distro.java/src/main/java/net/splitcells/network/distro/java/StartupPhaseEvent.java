@@ -0,0 +1,30 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+
+/**
+ * This is the JFR event of a phase recorded by the {@link StartupProfiler}.
+ * The duration of the event is the wall time of the phase.
+ */
+@JavaLegacy
+@Name("net.splitcells.network.distro.java.StartupPhase")
+@Label("Startup Phase")
+@Category({"Splitcells", "Startup"})
+@Description("Initialization of a Cell or registration of a project during the startup.")
+public class StartupPhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
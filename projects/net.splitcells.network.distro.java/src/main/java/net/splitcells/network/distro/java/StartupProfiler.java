@@ -0,0 +1,155 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.environment.Environment;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.communication.log.LogLevel;
+import net.splitcells.dem.resource.communication.log.Logs;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+import static net.splitcells.network.distro.java.StartupStatus.globalStartupStatus;
+
+/**
+ * <p>Records the wall time and the allocated memory of the phases of the startup,
+ * like the initialization of a Cell or the registration of a project.
+ * Each phase is exported as a {@link StartupPhaseEvent}, when a JFR recording is active.</p>
+ * <p>Phases can be nested and the name of a nested phase contains the names of its parent phases.
+ * The measurements of a phase include the ones of its nested phases.
+ * The allocated memory is only measured for the current thread
+ * and only if the JVM supports this via {@link com.sun.management.ThreadMXBean}.</p>
+ * <p>When the {@link StartupStatus} reports, that the server is ready,
+ * a summary of all phases is logged once, which is ranked by wall time.
+ * This requires {@link #logSummaryWhenReady(Environment)} to be called during the startup.</p>
+ * <p>There is only one instance for the whole program,
+ * because the Cells are started in different {@link net.splitcells.dem.environment.Environment}s.</p>
+ */
+@JavaLegacy
+public class StartupProfiler {
+    private static final StartupProfiler GLOBAL = new StartupProfiler();
+
+    public static StartupProfiler startupProfiler() {
+        return GLOBAL;
+    }
+
+    private final List<Phase> phases = new ArrayList<>();
+    private final ThreadLocal<Deque<String>> currentPhases = ThreadLocal.withInitial(ArrayDeque::new);
+    private boolean isSummaryScheduled = false;
+
+    private StartupProfiler() {
+
+    }
+
+    public void phase(String name, Runnable phase) {
+        phase(name, () -> {
+            phase.run();
+            return null;
+        });
+    }
+
+    public <T> T phase(String name, Supplier<T> phase) {
+        final var parents = currentPhases.get();
+        final var qualifiedName = parents.isEmpty() ? name : parents.peek() + " > " + name;
+        parents.push(qualifiedName);
+        final var event = new StartupPhaseEvent();
+        event.begin();
+        final var allocationStart = allocatedBytes();
+        final var start = System.nanoTime();
+        try {
+            return phase.get();
+        } finally {
+            final var wallTime = System.nanoTime() - start;
+            final var allocated = allocationStart < 0 ? -1 : allocatedBytes() - allocationStart;
+            parents.pop();
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = qualifiedName;
+                event.allocatedBytes = allocated;
+                event.commit();
+            }
+            synchronized (phases) {
+                phases.add(new Phase(qualifiedName, wallTime, allocated));
+            }
+        }
+    }
+
+    /**
+     * @return All completed phases ranked by wall time, starting with the longest phase.
+     */
+    public List<String> summary() {
+        final List<Phase> rankedPhases;
+        synchronized (phases) {
+            rankedPhases = new ArrayList<>(phases);
+        }
+        rankedPhases.sort(Comparator.comparingLong((Phase p) -> p.wallTimeInNanos).reversed());
+        final var summary = new ArrayList<String>(rankedPhases.size());
+        rankedPhases.forEach(p -> summary.add(p.wallTimeInNanos / 1_000_000 + " ms, "
+                + (p.allocatedBytes < 0 ? "unknown" : p.allocatedBytes / 1024 + " KiB") + ": " + p.name));
+        return summary;
+    }
+
+    public void logSummary() {
+        logSummary(logs());
+    }
+
+    /**
+     * Logs the summary once, when the server is ready.
+     * The {@link StartupStatus} reports this in a thread without an {@link Environment},
+     * which is why the {@link Logs} of the given environment are used.
+     * Further calls of this method are ignored.
+     *
+     * @param env The environment, whose {@link Logs} are used for the summary.
+     */
+    public synchronized void logSummaryWhenReady(Environment env) {
+        if (isSummaryScheduled) {
+            return;
+        }
+        isSummaryScheduled = true;
+        final var isSummaryLogged = new AtomicBoolean(false);
+        globalStartupStatus().addListener((message, isReady) -> {
+            if (isReady && isSummaryLogged.compareAndSet(false, true)) {
+                logSummary(env.config().configValue(Logs.class));
+            }
+        });
+    }
+
+    private void logSummary(Logs logs) {
+        final var summary = tree("Startup phases ranked by wall time:");
+        summary().forEach(p -> summary.withChild(tree(p)));
+        logs.append(summary, LogLevel.INFO);
+    }
+
+    private static long allocatedBytes() {
+        final var threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            final var sunThreads = (com.sun.management.ThreadMXBean) threads;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static final class Phase {
+        private final String name;
+        private final long wallTimeInNanos;
+        private final long allocatedBytes;
+
+        private Phase(String name, long wallTimeInNanos, long allocatedBytes) {
+            this.name = name;
+            this.wallTimeInNanos = wallTimeInNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Collects the phases of the startup, so that these can be shown to the user,
+ * like it is done by the {@link GuiLauncher}.
+ * The Cells report their phases, while these are configured,
+ * and the {@link ReadinessProbe} reports, when the server is ready.
+ * If the startup fails, the problem is reported as the last status via {@link #failed(String)}.</p>
+ * <p>There is only one instance for the whole program,
+ * because the {@link GuiLauncher} is started before the {@link net.splitcells.dem.environment.Environment}.
+ * A new listener gets the latest status immediately.</p>
+ */
+public class StartupStatus {
+    private static final StartupStatus GLOBAL = new StartupStatus();
+
+    public static StartupStatus globalStartupStatus() {
+        return GLOBAL;
+    }
+
+    public interface Listener {
+        /**
+         * @param message Describes the current phase of the startup.
+         * @param isReady Whether the server is ready to be used.
+         */
+        void status(String message, boolean isReady);
+    }
+
+    private final List<Listener> listeners = new ArrayList<>();
+    private String message = "Starting.";
+    private boolean isReady = false;
+    private boolean isFailed = false;
+    private final long startTime = System.nanoTime();
+
+    private StartupStatus() {
+
+    }
+
+    public synchronized void addListener(Listener listener) {
+        listeners.add(listener);
+        listener.status(message, isReady);
+    }
+
+    /**
+     * @param phase Describes the phase, that is started.
+     */
+    public synchronized void report(String phase) {
+        message = phase + " (" + elapsedMillis() + " ms)";
+        listeners.forEach(l -> l.status(message, isReady));
+    }
+
+    /**
+     * @param summary Describes the completed startup.
+     */
+    public synchronized void ready(String summary) {
+        message = summary + " (" + elapsedMillis() + " ms)";
+        isReady = true;
+        listeners.forEach(l -> l.status(message, isReady));
+    }
+
+    /**
+     * Only the first problem is reported, as later problems are usually caused by it.
+     *
+     * @param problem Describes, why the server cannot be started.
+     */
+    public synchronized void failed(String problem) {
+        if (isFailed) {
+            return;
+        }
+        message = "Failed: " + problem + " (" + elapsedMillis() + " ms)";
+        isReady = false;
+        isFailed = true;
+        listeners.forEach(l -> l.status(message, isReady));
+    }
+
+    /**
+     * @return Whether {@link #failed(String)} was called.
+     */
+    public synchronized boolean isFailed() {
+        return isFailed;
+    }
+
+    private long elapsedMillis() {
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+}
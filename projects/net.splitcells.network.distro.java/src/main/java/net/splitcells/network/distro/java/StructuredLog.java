@@ -0,0 +1,62 @@
+/* SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java;
+
+import net.splitcells.dem.lang.tree.Tree;
+import net.splitcells.dem.resource.communication.log.LogLevel;
+import net.splitcells.dem.resource.communication.log.MessageFilter;
+
+import java.util.function.Supplier;
+
+import static net.splitcells.dem.Dem.configValue;
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.communication.log.LogMessageI.logMessage;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+
+/**
+ * <p>Logs messages, whose properties are kept as separate key value pairs,
+ * if the log backend supports this.
+ * A message is a {@link Tree}, whose name is the text of the message and
+ * whose children are the properties created via {@link Tree#withProperty(String, String)}.</p>
+ * <p>By default, the messages are rendered and passed to {@link net.splitcells.dem.resource.communication.log.Logs}.
+ * {@link Slf4jCell} replaces this with {@link Slf4jStructuredLog},
+ * which passes the properties to slf4j as key value pairs.</p>
+ * <p>{@link #append(Supplier, LogLevel)} only creates the message,
+ * if the given level is enabled at all.
+ * This should be used for big messages and for messages, that are created repeatedly.</p>
+ */
+public interface StructuredLog {
+    /**
+     * The level of the message is checked via the current {@link MessageFilter}.
+     * The filter is given an empty message for this check,
+     * which is enough for filters, that only consider the priority of a message.
+     */
+    static StructuredLog logsBasedStructuredLog() {
+        return new StructuredLog() {
+            @Override
+            public void append(Tree message, LogLevel level) {
+                logs().append(message, level);
+            }
+
+            @Override
+            public boolean isEnabled(LogLevel level) {
+                return configValue(MessageFilter.class).test(logMessage(tree(""), level));
+            }
+        };
+    }
+
+    void append(Tree message, LogLevel level);
+
+    /**
+     * @param level The level of a message, that may be logged.
+     * @return Whether messages of the given level are logged or not.
+     */
+    boolean isEnabled(LogLevel level);
+
+    default void append(Supplier<Tree> message, LogLevel level) {
+        if (isEnabled(level)) {
+            append(message.get(), level);
+        }
+    }
+}
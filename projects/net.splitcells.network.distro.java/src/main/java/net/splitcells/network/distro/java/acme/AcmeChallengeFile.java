@@ -16,7 +16,6 @@
 package net.splitcells.network.distro.java.acme;
 
 import net.splitcells.dem.data.set.Set;
-import net.splitcells.dem.data.set.Sets;
 import net.splitcells.dem.utils.StringUtils;
 import net.splitcells.website.Format;
 import net.splitcells.website.server.Config;
@@ -24,9 +23,9 @@ import net.splitcells.website.server.processor.BinaryMessage;
 import net.splitcells.website.server.projects.ProjectsRendererI;
 import net.splitcells.website.server.projects.RenderRequest;
 import net.splitcells.website.server.projects.extension.ProjectsRendererExtension;
-import org.shredzone.acme4j.challenge.Http01Challenge;
 
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Optional;
 
 import static net.splitcells.dem.Dem.configValue;
@@ -37,34 +36,27 @@ public class AcmeChallengeFile implements ProjectsRendererExtension {
         return new AcmeChallengeFile();
     }
 
-    private final String challengeResponsePath = "/.well-known/acme-challenge/";
+    private static final String CHALLENGE_RESPONSE_PATH = "/.well-known/acme-challenge/";
+    private final Map<String, String> currentAcmeChallengeResponses = configValue(CurrentAcmeChallengeResponses.class);
 
     private AcmeChallengeFile() {
 
     }
 
+    /**
+     * Paths, that are not located in {@link #CHALLENGE_RESPONSE_PATH}, are rejected before any lookup,
+     * as this method is called for nearly every request.
+     */
     @Override
     public Optional<BinaryMessage> renderFile(String path, ProjectsRendererI projectsRenderer, Config config) {
-        final var currentAcmeChallenge = configValue(CurrentAcmeAuthorization.class);
-        if (currentAcmeChallenge.value().isEmpty()) {
+        if (!path.startsWith(CHALLENGE_RESPONSE_PATH)) {
             return Optional.empty();
         }
-        final var currentPath = challengeResponsePath
-                + currentAcmeChallenge.value().get()
-                .findChallenge(Http01Challenge.class)
-                .orElseThrow()
-                .getToken();
-        if (currentPath.equals(path)) {
-            return Optional.of(BinaryMessage.binaryMessage(
-                    StringUtils.toBytes(configValue(CurrentAcmeAuthorization.class)
-                            .value()
-                            .orElseThrow()
-                            .findChallenge(Http01Challenge.class)
-                            .orElseThrow()
-                            .getAuthorization())
-                    , Format.TEXT_PLAIN));
+        final var keyAuthorization = currentAcmeChallengeResponses.get(path.substring(CHALLENGE_RESPONSE_PATH.length()));
+        if (keyAuthorization == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        return Optional.of(BinaryMessage.binaryMessage(StringUtils.toBytes(keyAuthorization), Format.TEXT_PLAIN));
     }
 
     @Override
@@ -74,14 +66,9 @@ public class AcmeChallengeFile implements ProjectsRendererExtension {
 
     @Override
     public Set<Path> projectPaths(ProjectsRendererI projectsRenderer) {
-        final var currentAcmeChallenge = configValue(CurrentAcmeAuthorization.class);
-        if (currentAcmeChallenge.value().isPresent()) {
-            return Sets.setOfUniques(Path.of(challengeResponsePath.substring(1)
-                    + currentAcmeChallenge.value().get()
-                    .findChallenge(Http01Challenge.class)
-                    .orElseThrow()
-                    .getToken()));
-        }
-        return setOfUniques();
+        final Set<Path> projectPaths = setOfUniques();
+        currentAcmeChallengeResponses.keySet().forEach(token ->
+                projectPaths.add(Path.of(CHALLENGE_RESPONSE_PATH.substring(1) + token)));
+        return projectPaths;
     }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.acme;
+
+import net.splitcells.dem.environment.config.framework.Variable;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.communication.log.LogLevel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static net.splitcells.dem.Dem.configValue;
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+
+/**
+ * <p>Checks the certificate of {@link CurrentPublicKeyCryptoConfig} periodically in the background
+ * and requests a new certificate via ACME,
+ * when the end of the certificate's validity is nearer than the {@link CertificateRenewalWindow}.
+ * The new certificate replaces the value of {@link CurrentPublicKeyCryptoConfig},
+ * so that no restart is required in order to rotate certificates.</p>
+ * <p>Only one certificate request is processed at any time.
+ * If a request fails, it is retried on the next check.
+ * While a self-signed certificate is used, failed requests are retried sooner,
+ * starting after {@link CertificateRenewalRetryDelay}.</p>
+ */
+@JavaLegacy
+public class CertificateRenewal implements AutoCloseable {
+    public static CertificateRenewal certificateRenewal(PublicKeyCryptoConfigurator configurator, String domain
+            , Variable<PublicKeyCryptoConfig> currentConfig) {
+        return new CertificateRenewal(configurator::requestPublicKeyCryptoConfig, configurator.sessionUrl(), domain
+                , currentConfig);
+    }
+
+    /**
+     * @param acquisition   Requests a certificate for the given domain.
+     * @param acmeServer    The server, that provides the certificates.
+     * @param domain        The domain of the certificate.
+     * @param currentConfig The config, that is checked and replaced by new certificates.
+     * @return A renewal, that is not started yet.
+     */
+    public static CertificateRenewal certificateRenewal(Function<String, CompletableFuture<PublicKeyCryptoConfig>> acquisition
+            , String acmeServer
+            , String domain
+            , Variable<PublicKeyCryptoConfig> currentConfig) {
+        return new CertificateRenewal(acquisition, acmeServer, domain, currentConfig);
+    }
+
+    private final Function<String, CompletableFuture<PublicKeyCryptoConfig>> acquisition;
+    private final String acmeServer;
+    private final String domain;
+    private final Variable<PublicKeyCryptoConfig> currentConfig;
+    private final Duration renewalWindow = configValue(CertificateRenewalWindow.class);
+    private final Duration checkInterval = configValue(CertificateRenewalCheckInterval.class);
+    private final Duration initialRetryDelay = configValue(CertificateRenewalRetryDelay.class);
+    private final AtomicBoolean isRenewing = new AtomicBoolean(false);
+    private volatile Duration retryDelay = initialRetryDelay;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "Certificate renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CertificateRenewal(Function<String, CompletableFuture<PublicKeyCryptoConfig>> acquisition
+            , String acmeServer
+            , String domain
+            , Variable<PublicKeyCryptoConfig> currentConfig) {
+        this.acquisition = acquisition;
+        this.acmeServer = acmeServer;
+        this.domain = domain;
+        this.currentConfig = currentConfig;
+    }
+
+    /**
+     * Starts the periodic checks of the certificate.
+     *
+     * @return This
+     */
+    public CertificateRenewal start() {
+        scheduler.scheduleWithFixedDelay(this::renewIfRequired
+                , checkInterval.toMillis()
+                , checkInterval.toMillis()
+                , TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    public void renewIfRequired() {
+        try {
+            final var config = currentConfig.value();
+            if (config.isEmpty() || isInRenewalWindow(config.get(), Instant.now())) {
+                renew();
+            }
+        } catch (Throwable t) {
+            logs().warn(tree("Could not check the certificate for renewal.")
+                            .withProperty("domain", domain)
+                    , t);
+        }
+    }
+
+    /**
+     * Requests a new certificate in the background, if no request is already in progress.
+     */
+    public void renew() {
+        if (!isRenewing.compareAndSet(false, true)) {
+            return;
+        }
+        acquisition.apply(domain).whenComplete((newConfig, error) -> {
+            try {
+                if (error == null) {
+                    retryDelay = initialRetryDelay;
+                    currentConfig.withValue(Optional.of(newConfig));
+                    logs().append(tree("Replaced the current certificate with a new one.")
+                                    .withProperty("domain", domain)
+                                    .withProperty("ACME server", acmeServer)
+                            , LogLevel.INFO);
+                } else {
+                    logs().warn(tree("Could not acquire certificate via ACME. The current certificate is kept and the request is retried later.")
+                                    .withProperty("domain", domain)
+                            , error);
+                    retryIfSelfSigned();
+                }
+            } finally {
+                isRenewing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Schedules another request with an exponential backoff, if the current certificate is self-signed,
+     * because clients do not trust such a certificate.
+     */
+    private synchronized void retryIfSelfSigned() {
+        final var config = currentConfig.value();
+        if (config.isPresent() && !config.get().isSelfSigned()) {
+            return;
+        }
+        final var delay = retryDelay;
+        retryDelay = min(retryDelay.multipliedBy(2), checkInterval);
+        try {
+            scheduler.schedule(this::renew, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The renewal was closed.
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        if (a.compareTo(b) < 0) {
+            return a;
+        }
+        return b;
+    }
+
+    private boolean isInRenewalWindow(PublicKeyCryptoConfig config, Instant now) {
+        return config.certificate().getNotAfter().toInstant().minus(renewalWindow).isBefore(now);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -18,14 +18,19 @@ package net.splitcells.network.distro.java.acme;
 import net.splitcells.dem.environment.config.framework.Option;
 import net.splitcells.dem.environment.config.framework.Variable;
 import net.splitcells.dem.lang.annotations.JavaLegacy;
-import org.shredzone.acme4j.Authorization;
 
 import static net.splitcells.dem.environment.config.framework.Variable.variable;
 
+/**
+ * This is the crypto config, that is currently used by the server.
+ * It may be replaced during the runtime, when a new certificate is provided.
+ * See {@link PublicKeyCryptoConfigurator#currentPublicKeyCryptoConfig()}.
+ * The server reads it via {@link CurrentSslContext}.
+ */
 @JavaLegacy
-public class CurrentAcmeAuthorization implements Option<Variable<Authorization>> {
+public class CurrentPublicKeyCryptoConfig implements Option<Variable<PublicKeyCryptoConfig>> {
     @Override
-    public Variable<Authorization> defaultValue() {
+    public Variable<PublicKeyCryptoConfig> defaultValue() {
         return variable();
     }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.acme;
+
+import net.splitcells.dem.environment.config.framework.Variable;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.X509ExtendedKeyManager;
+import java.net.Socket;
+import java.security.Principal;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Provides a TLS context, that always uses the current value of {@link CurrentPublicKeyCryptoConfig}.
+ * When the certificate is replaced, new handshakes use the new certificate,
+ * without restarting the server or dropping established connections.</p>
+ * <p>The key material of each config is created only once via {@link PublicKeyCryptoConfig#keyManagers()}.
+ * The aliases of the key material contain the number of the config,
+ * so that a handshake does not mix the certificate of one config with the private key of another one,
+ * when the config is replaced during the handshake.</p>
+ * <p>The server session cache is shared by all configs, so that clients can resume their sessions after a replacement.
+ * See {@link TlsHandshakeOptimizations} for further settings.</p>
+ */
+@JavaLegacy
+public class CurrentSslContext {
+    private static final int SESSION_CACHE_SIZE = 20_000;
+    private static final Duration SESSION_TIMEOUT = Duration.ofHours(24);
+
+    public static SSLContext currentSslContext(Variable<PublicKeyCryptoConfig> currentConfig) {
+        try {
+            final var sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(new KeyManager[]{new CurrentKeyManager(currentConfig)}, null, null);
+            sslContext.getServerSessionContext().setSessionCacheSize(SESSION_CACHE_SIZE);
+            sslContext.getServerSessionContext().setSessionTimeout((int) SESSION_TIMEOUT.toSeconds());
+            return sslContext;
+        } catch (Throwable t) {
+            throw execException(t);
+        }
+    }
+
+    private CurrentSslContext() {
+
+    }
+
+    private static final class CurrentKeyManager extends X509ExtendedKeyManager {
+        private static final String SEPARATOR = "@";
+        private final Variable<PublicKeyCryptoConfig> currentConfig;
+        private volatile KeyMaterial current;
+        private volatile KeyMaterial previous;
+
+        private CurrentKeyManager(Variable<PublicKeyCryptoConfig> currentConfig) {
+            this.currentConfig = currentConfig;
+        }
+
+        private synchronized KeyMaterial current() {
+            final var config = currentConfig.value().orElseThrow();
+            if (current == null || current.config != config) {
+                final var number = current == null ? 0 : current.number + 1;
+                previous = current;
+                current = new KeyMaterial(number, config);
+            }
+            return current;
+        }
+
+        private KeyMaterial keyMaterial(String alias) {
+            final var separator = alias.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return null;
+            }
+            final var number = Long.parseLong(alias.substring(0, separator));
+            final var currentKeyMaterial = current;
+            if (currentKeyMaterial != null && currentKeyMaterial.number == number) {
+                return currentKeyMaterial;
+            }
+            final var previousKeyMaterial = previous;
+            if (previousKeyMaterial != null && previousKeyMaterial.number == number) {
+                return previousKeyMaterial;
+            }
+            return null;
+        }
+
+        private static String delegateAlias(String alias) {
+            return alias.substring(alias.indexOf(SEPARATOR) + 1);
+        }
+
+        private static String[] aliases(KeyMaterial keyMaterial, String[] delegateAliases) {
+            if (delegateAliases == null) {
+                return null;
+            }
+            final var aliases = new String[delegateAliases.length];
+            for (int i = 0; i < delegateAliases.length; ++i) {
+                aliases[i] = keyMaterial.alias(delegateAliases[i]);
+            }
+            return aliases;
+        }
+
+        @Override
+        public String chooseEngineServerAlias(String keyType, Principal[] issuers, SSLEngine engine) {
+            final var keyMaterial = current();
+            return keyMaterial.alias(keyMaterial.delegate.chooseEngineServerAlias(keyType, issuers, engine));
+        }
+
+        @Override
+        public String chooseServerAlias(String keyType, Principal[] issuers, Socket socket) {
+            final var keyMaterial = current();
+            return keyMaterial.alias(keyMaterial.delegate.chooseServerAlias(keyType, issuers, socket));
+        }
+
+        @Override
+        public String[] getServerAliases(String keyType, Principal[] issuers) {
+            final var keyMaterial = current();
+            return aliases(keyMaterial, keyMaterial.delegate.getServerAliases(keyType, issuers));
+        }
+
+        @Override
+        public String chooseEngineClientAlias(String[] keyType, Principal[] issuers, SSLEngine engine) {
+            final var keyMaterial = current();
+            return keyMaterial.alias(keyMaterial.delegate.chooseEngineClientAlias(keyType, issuers, engine));
+        }
+
+        @Override
+        public String chooseClientAlias(String[] keyType, Principal[] issuers, Socket socket) {
+            final var keyMaterial = current();
+            return keyMaterial.alias(keyMaterial.delegate.chooseClientAlias(keyType, issuers, socket));
+        }
+
+        @Override
+        public String[] getClientAliases(String keyType, Principal[] issuers) {
+            final var keyMaterial = current();
+            return aliases(keyMaterial, keyMaterial.delegate.getClientAliases(keyType, issuers));
+        }
+
+        @Override
+        public X509Certificate[] getCertificateChain(String alias) {
+            if (alias == null) {
+                return null;
+            }
+            final var keyMaterial = keyMaterial(alias);
+            if (keyMaterial == null) {
+                return null;
+            }
+            return keyMaterial.delegate.getCertificateChain(delegateAlias(alias));
+        }
+
+        @Override
+        public PrivateKey getPrivateKey(String alias) {
+            if (alias == null) {
+                return null;
+            }
+            final var keyMaterial = keyMaterial(alias);
+            if (keyMaterial == null) {
+                return null;
+            }
+            return keyMaterial.delegate.getPrivateKey(delegateAlias(alias));
+        }
+    }
+
+    private static final class KeyMaterial {
+        private final long number;
+        private final PublicKeyCryptoConfig config;
+        private final X509ExtendedKeyManager delegate;
+
+        private KeyMaterial(long number, PublicKeyCryptoConfig config) {
+            this.number = number;
+            this.config = config;
+            delegate = (X509ExtendedKeyManager) config.keyManagers()[0];
+        }
+
+        private String alias(String delegateAlias) {
+            if (delegateAlias == null) {
+                return null;
+            }
+            return number + CurrentKeyManager.SEPARATOR + delegateAlias;
+        }
+    }
+}
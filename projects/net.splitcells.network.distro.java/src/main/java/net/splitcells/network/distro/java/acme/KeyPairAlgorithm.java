@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.acme;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Determines how key pairs are generated and which algorithm is used, in order to sign certificates with these.</p>
+ * <p>Elliptic curve keys are generated much faster than RSA keys with a comparable security level.
+ * {@link #ED25519} is not supported by Let's Encrypt and most browsers for TLS certificates.
+ * It is therefore only sensible for local usage.</p>
+ */
+public enum KeyPairAlgorithm {
+    RSA_4096("RSA", "SHA256WithRSA"),
+    ECDSA_P256("EC", "SHA256withECDSA"),
+    ED25519("Ed25519", "Ed25519");
+
+    private final String keyAlgorithm;
+    private final String signatureAlgorithm;
+
+    KeyPairAlgorithm(String keyAlgorithm, String signatureAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    public String signatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    public KeyPair generateKeyPair() {
+        try {
+            final var generator = KeyPairGenerator.getInstance(keyAlgorithm);
+            if (this == RSA_4096) {
+                generator.initialize(4096);
+            } else if (this == ECDSA_P256) {
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            return generator.generateKeyPair();
+        } catch (Throwable t) {
+            throw execException(t);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.acme;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+
+import java.security.KeyPair;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+
+/**
+ * <p>Generates key pairs in the background, so that key pairs are already present, when these are needed.
+ * The pool is filled on a daemon thread up to its capacity,
+ * which is started, when the first key pair is taken or {@link #start()} is called.</p>
+ * <p>If the pool is empty, a key pair is generated by the caller instead of waiting for the pool.</p>
+ */
+@JavaLegacy
+public class KeyPairPool {
+    public static KeyPairPool keyPairPool(KeyPairAlgorithm algorithm, int capacity) {
+        return new KeyPairPool(algorithm, capacity);
+    }
+
+    private final KeyPairAlgorithm algorithm;
+    private final BlockingQueue<KeyPair> keyPairs;
+    private Thread generator;
+
+    private KeyPairPool(KeyPairAlgorithm algorithm, int capacity) {
+        this.algorithm = algorithm;
+        keyPairs = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public KeyPairAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public synchronized KeyPairPool start() {
+        if (generator == null) {
+            generator = new Thread(() -> {
+                try {
+                    while (true) {
+                        keyPairs.put(algorithm.generateKeyPair());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Throwable t) {
+                    logs().warn(tree("Could not generate key pair in the background.")
+                                    .withProperty("algorithm", algorithm.toString())
+                            , t);
+                }
+            }, "Key pair generation for " + algorithm);
+            generator.setDaemon(true);
+            generator.start();
+        }
+        return this;
+    }
+
+    public KeyPair take() {
+        start();
+        final var keyPair = keyPairs.poll();
+        if (keyPair == null) {
+            return algorithm.generateKeyPair();
+        }
+        return keyPair;
+    }
+}
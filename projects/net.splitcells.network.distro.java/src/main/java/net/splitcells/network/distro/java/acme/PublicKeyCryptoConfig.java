@@ -15,13 +15,50 @@
  */
 package net.splitcells.network.distro.java.acme;
 
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.openssl.PEMKeyPair;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Contains the PEM encoded private key and public certificate chain of the server.</p>
+ * <p>The decoded certificate chain, private key and the key managers based on these are created
+ * on their first access and are reused afterwards.
+ * The key managers are used by {@link CurrentSslContext}.
+ * Therefore, the same instance should be shared by all consumers,
+ * which is done via {@link PublicKeyCryptoConfigCache} for stored configs.</p>
+ */
+@JavaLegacy
 public class PublicKeyCryptoConfig {
     public static PublicKeyCryptoConfig publicKeyCryptoConfig(byte[] privatePem, byte[] publicPem) {
         return new PublicKeyCryptoConfig(privatePem, publicPem);
     }
 
+    private static final char[] KEY_STORE_PASSWORD = new char[0];
+    private static final String KEY_ALIAS = "server";
+
     private final byte[] privatePem;
     private final byte[] publicPem;
+    private List<X509Certificate> certificateChain;
+    private PrivateKey privateKey;
+    private KeyManager[] keyManagers;
 
     private PublicKeyCryptoConfig(byte[] privatePem, byte[] publicPem) {
         this.privatePem = privatePem;
@@ -35,4 +72,83 @@ public class PublicKeyCryptoConfig {
     public byte[] publicPem() {
         return publicPem;
     }
+
+    /**
+     * @return The decoded {@link #publicPem()}, where the first certificate is the one of the server.
+     */
+    public synchronized List<X509Certificate> certificateChain() {
+        if (certificateChain == null) {
+            try {
+                final var certificates = new ArrayList<X509Certificate>();
+                CertificateFactory.getInstance("X509")
+                        .generateCertificates(new ByteArrayInputStream(publicPem))
+                        .forEach(c -> certificates.add((X509Certificate) c));
+                if (certificates.isEmpty()) {
+                    throw execException("The public PEM does not contain any certificate.");
+                }
+                certificateChain = List.copyOf(certificates);
+            } catch (Throwable t) {
+                throw execException(t);
+            }
+        }
+        return certificateChain;
+    }
+
+    /**
+     * @return The certificate of the server.
+     */
+    public X509Certificate certificate() {
+        return certificateChain().get(0);
+    }
+
+    /**
+     * @return Whether the certificate of the server is signed by itself instead of a certificate authority.
+     */
+    public boolean isSelfSigned() {
+        return certificate().getSubjectX500Principal().equals(certificate().getIssuerX500Principal());
+    }
+
+    /**
+     * @return The decoded {@link #privatePem()}, which may contain a key pair or just the private key.
+     */
+    public synchronized PrivateKey privateKey() {
+        if (privateKey == null) {
+            try (final var parser = new PEMParser(new InputStreamReader(new ByteArrayInputStream(privatePem)
+                    , StandardCharsets.UTF_8))) {
+                final var converter = new JcaPEMKeyConverter();
+                final var pemObject = parser.readObject();
+                if (pemObject instanceof PEMKeyPair) {
+                    privateKey = converter.getKeyPair((PEMKeyPair) pemObject).getPrivate();
+                } else if (pemObject instanceof PrivateKeyInfo) {
+                    privateKey = converter.getPrivateKey((PrivateKeyInfo) pemObject);
+                } else {
+                    throw execException(tree("The private PEM does not contain a supported private key.")
+                            .withProperty("PEM object type", pemObject == null ? "null" : pemObject.getClass().getName()));
+                }
+            } catch (Throwable t) {
+                throw execException(t);
+            }
+        }
+        return privateKey;
+    }
+
+    /**
+     * @return The key managers of the server, which are only created once for this config.
+     */
+    public synchronized KeyManager[] keyManagers() {
+        if (keyManagers == null) {
+            try {
+                final var keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+                keyStore.load(null, null);
+                keyStore.setKeyEntry(KEY_ALIAS, privateKey(), KEY_STORE_PASSWORD
+                        , certificateChain().toArray(new Certificate[0]));
+                final var keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+                keyManagerFactory.init(keyStore, KEY_STORE_PASSWORD);
+                keyManagers = keyManagerFactory.getKeyManagers();
+            } catch (Throwable t) {
+                throw execException(t);
+            }
+        }
+        return keyManagers;
+    }
 }
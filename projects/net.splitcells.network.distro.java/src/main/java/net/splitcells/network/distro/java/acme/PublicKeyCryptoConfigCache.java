@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.acme;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Shares the {@link PublicKeyCryptoConfig} read from the file system between all consumers,
+ * so that the PEM files are only read and parsed again, when these were changed.</p>
+ * <p>A file is considered changed, when its modification time or its size is changed.</p>
+ */
+@JavaLegacy
+public class PublicKeyCryptoConfigCache {
+    public static PublicKeyCryptoConfigCache publicKeyCryptoConfigCache() {
+        return new PublicKeyCryptoConfigCache();
+    }
+
+    private final Map<Path, CacheEntry> entries = new HashMap<>();
+
+    private PublicKeyCryptoConfigCache() {
+
+    }
+
+    /**
+     * @param certificatePath The file containing the public certificate chain.
+     * @param privateKeyPath  The file containing the private key.
+     * @param reader          Reads the config from the given files.
+     * @return The cached config, if the files did not change since the last read, and
+     * the newly read config otherwise.
+     */
+    public synchronized PublicKeyCryptoConfig config(Path certificatePath, Path privateKeyPath
+            , Supplier<PublicKeyCryptoConfig> reader) {
+        final var stamp = stamp(certificatePath) + "/" + stamp(privateKeyPath);
+        final var entry = entries.get(certificatePath);
+        if (entry != null && entry.stamp.equals(stamp)) {
+            return entry.config;
+        }
+        final var config = reader.get();
+        entries.put(certificatePath, new CacheEntry(stamp, config));
+        return config;
+    }
+
+    private static String stamp(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file);
+        } catch (IOException e) {
+            throw execException(e);
+        }
+    }
+
+    private static final class CacheEntry {
+        private final String stamp;
+        private final PublicKeyCryptoConfig config;
+
+        private CacheEntry(String stamp, PublicKeyCryptoConfig config) {
+            this.stamp = stamp;
+            this.config = config;
+        }
+    }
+}
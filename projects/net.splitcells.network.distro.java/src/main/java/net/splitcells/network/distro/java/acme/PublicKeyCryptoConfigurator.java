@@ -15,11 +15,14 @@
  */
 package net.splitcells.network.distro.java.acme;
 
+import net.splitcells.dem.environment.config.framework.Variable;
 import net.splitcells.dem.lang.annotations.JavaLegacy;
 import net.splitcells.dem.resource.ConfigFileSystem;
 import net.splitcells.dem.resource.communication.log.LogLevel;
 import net.splitcells.dem.utils.ExecutionException;
 import net.splitcells.dem.utils.StringUtils;
+import net.splitcells.network.distro.java.CurrentStructuredLog;
+import net.splitcells.network.distro.java.StructuredLog;
 import net.splitcells.website.server.config.PublicContactEMailAddress;
 import net.splitcells.website.server.config.PublicDomain;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
@@ -31,7 +34,6 @@ import org.shredzone.acme4j.Status;
 import org.shredzone.acme4j.challenge.Http01Challenge;
 import org.shredzone.acme4j.util.KeyPairUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
@@ -40,14 +42,16 @@ import java.io.OutputStreamWriter;
 import java.nio.file.Path;
 import java.security.KeyPair;
 import java.security.Security;
-import java.security.cert.CertificateFactory;
-import java.security.cert.X509Certificate;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static net.splitcells.dem.Dem.configValue;
 import static net.splitcells.dem.Dem.sleepAtLeast;
@@ -58,6 +62,9 @@ import static net.splitcells.dem.resource.Files.readFileAsBytes;
 import static net.splitcells.dem.resource.communication.log.Logs.logs;
 import static net.splitcells.dem.utils.ExecutionException.execException;
 import static net.splitcells.dem.utils.NotImplementedYet.notImplementedYet;
+import static net.splitcells.network.distro.java.ShutdownCoordinator.globalShutdownCoordinator;
+import static net.splitcells.network.distro.java.acme.CertificateRenewal.certificateRenewal;
+import static net.splitcells.network.distro.java.acme.SelfSignedPublicKeyCryptoConfigurator.selfSignedPublicKeyCryptoConfigurator;
 
 /**
  * One can use `https://letsdebug.net/` in order to debug `https://letsencrypt.org/`.
@@ -71,23 +78,78 @@ public class PublicKeyCryptoConfigurator {
         Security.addProvider(new BouncyCastleProvider());
     }
 
+    /**
+     * This does not wait for the ACME server.
+     * See {@link #currentPublicKeyCryptoConfig()}.
+     *
+     * @return The current value of {@link CurrentPublicKeyCryptoConfig}.
+     */
     public static PublicKeyCryptoConfig publicKeyCryptoConfig() {
-        return publicKeyCryptoConfig(configValue(PublicDomain.class).orElseThrow()
-                , configValue(PublicContactEMailAddress.class).orElseThrow());
-    }
-
-    private static PublicKeyCryptoConfig publicKeyCryptoConfig(String domain, String email) {
-        final var publicKeyCryptoConfig = new PublicKeyCryptoConfigurator(email).publicKeyCryptoConfig(domain);
-        logs().append(tree("Using the following certificate PEM:")
+        final var publicKeyCryptoConfig = currentPublicKeyCryptoConfig().value().orElseThrow();
+        configValue(CurrentStructuredLog.class).append(() -> tree("Using the following certificate PEM:")
                         .withProperty("public certificate chain", StringUtils.parseString(publicKeyCryptoConfig.publicPem()))
-                        .withProperty("private key", StringUtils.parseString(publicKeyCryptoConfig.privatePem()))
                 , LogLevel.DEBUG);
         return publicKeyCryptoConfig;
     }
 
+    /**
+     * <p>Provides a crypto config without waiting for the ACME server.
+     * If a valid certificate is stored on the file system, it is used.
+     * Otherwise, a self-signed certificate is provided at once and
+     * a certificate is requested from the ACME server in the background.
+     * When the certificate is provided by the ACME server,
+     * the value of {@link CurrentPublicKeyCryptoConfig} is replaced by it.
+     * The certificate is renewed in the background via {@link CertificateRenewal} as well.</p>
+     * <p>Therefore, users of the crypto config should always read the current value of the returned variable.
+     * The acquisition is only started once per environment.</p>
+     *
+     * @return The value of {@link CurrentPublicKeyCryptoConfig}, which is present after this call.
+     */
+    public static Variable<PublicKeyCryptoConfig> currentPublicKeyCryptoConfig() {
+        final var currentConfig = configValue(CurrentPublicKeyCryptoConfig.class);
+        synchronized (currentConfig) {
+            if (currentConfig.value().isPresent()) {
+                return currentConfig;
+            }
+            final var domain = configValue(PublicDomain.class).orElseThrow();
+            final var configurator = new PublicKeyCryptoConfigurator(configValue(PublicContactEMailAddress.class)
+                    .orElseThrow());
+            final var renewal = certificateRenewal(configurator, domain, currentConfig);
+            globalShutdownCoordinator().register("Stop certificate renewal.", renewal::close);
+            return currentPublicKeyCryptoConfig(currentConfig, configurator::storedPublicKeyCryptoConfig
+                    , configurator::selfSignedPublicKeyCryptoConfig, renewal);
+        }
+    }
+
+    /**
+     * @param currentConfig    This is set to the stored or self-signed config.
+     * @param storedConfig     Provides the stored config, if it is valid.
+     * @param selfSignedConfig Provides the config used, until a certificate is provided by the ACME server.
+     * @param renewal          Requests the certificates in the background.
+     * @return The given variable.
+     */
+    static Variable<PublicKeyCryptoConfig> currentPublicKeyCryptoConfig(Variable<PublicKeyCryptoConfig> currentConfig
+            , Supplier<Optional<PublicKeyCryptoConfig>> storedConfig
+            , Supplier<PublicKeyCryptoConfig> selfSignedConfig
+            , CertificateRenewal renewal) {
+        final var validStoredConfig = storedConfig.get();
+        if (validStoredConfig.isPresent()) {
+            currentConfig.withValue(validStoredConfig);
+            renewal.renewIfRequired();
+        } else {
+            currentConfig.withValue(Optional.of(selfSignedConfig.get()));
+            renewal.renew();
+        }
+        renewal.start();
+        return currentConfig;
+    }
+
     private static final long TIME_BETWEEN_CHECKS = 3l;
     private final String sessionUrl = configValue(AcmeServerUri.class);
     private final String email;
+    private final Map<String, String> currentAcmeChallengeResponses = configValue(CurrentAcmeChallengeResponses.class);
+    private final List<String> additionalDomains = configValue(AdditionalPublicDomains.class);
+    private final PublicKeyCryptoConfigCache storedConfigs = configValue(StoredPublicKeyCryptoConfigs.class);
 
     private static String[] configPath(String... path) {
         final var configPath = new ArrayList<String>();
@@ -123,6 +185,30 @@ public class PublicKeyCryptoConfigurator {
             .javaLegacyPath(Path.of("./", configPath("certificate.pem")))
             .orElseThrow();
 
+    /**
+     * <p>These are the private key and certificate of the self-signed config,
+     * which is used until a certificate is provided via ACME.
+     * The self-signed config is stored, so that it does not have to be generated on each start.</p>
+     * <p>TODO Create portable file storage concept.</p>
+     */
+    private final Path selfSignedPrivateKeyPath = configValue(ConfigFileSystem.class)
+            .javaLegacyPath(Path.of("./", configPath("self-signed-private-key.pem")))
+            .orElseThrow();
+    private final Path selfSignedCertificatePath = configValue(ConfigFileSystem.class)
+            .javaLegacyPath(Path.of("./", configPath("self-signed-certificate.pem")))
+            .orElseThrow();
+    private final KeyPairAlgorithm domainKeyPairAlgorithm = configValue(DomainKeyPairAlgorithm.class);
+    /**
+     * The status of ACME requests is polled repeatedly.
+     * Therefore, the status is logged with separate properties,
+     * so that these logs can be filtered and analysed without parsing the message text.
+     */
+    private final StructuredLog structuredLog = configValue(CurrentStructuredLog.class);
+
+    String sessionUrl() {
+        return sessionUrl;
+    }
+
     private PublicKeyCryptoConfigurator(String emailArg) {
         email = emailArg;
         configValue(ConfigFileSystem.class).createDirectoryPath(CONFIG_PATH);
@@ -134,17 +220,49 @@ public class PublicKeyCryptoConfigurator {
      * @return Reads the crypto config from the {@link #acmeCertificatePath} on the file system or requests a new one.
      */
     public PublicKeyCryptoConfig publicKeyCryptoConfig(String domain) {
+        final var storedConfig = storedPublicKeyCryptoConfig();
+        if (storedConfig.isPresent()) {
+            return storedConfig.get();
+        }
+        return acmePublicKeyCryptoConfig(domain);
+    }
+
+    /**
+     * Requests a new certificate from the ACME server on a separate thread,
+     * so that the caller is not blocked, while the ACME server processes the order.
+     *
+     * @param domain
+     * @return The crypto config, which is completed, when the ACME server provided the certificate.
+     */
+    public CompletableFuture<PublicKeyCryptoConfig> requestPublicKeyCryptoConfig(String domain) {
+        final var acmeConfig = new CompletableFuture<PublicKeyCryptoConfig>();
+        // A new thread is created here, so that it inherits the environment of the caller.
+        final var acmeThread = new Thread(() -> {
+            try {
+                acmeConfig.complete(acmePublicKeyCryptoConfig(domain));
+            } catch (Throwable t) {
+                acmeConfig.completeExceptionally(t);
+            }
+        }, "ACME certificate acquisition for " + domain);
+        acmeThread.setDaemon(true);
+        acmeThread.start();
+        return acmeConfig;
+    }
+
+    /**
+     * @return The crypto config stored on the file system, if its certificate is currently valid.
+     */
+    public Optional<PublicKeyCryptoConfig> storedPublicKeyCryptoConfig() {
         try {
             if (fileExists(acmeCertificatePath)) {
-                final var targetStream = new ByteArrayInputStream(readFileAsBytes(acmeCertificatePath));
-                final var x509certificate = (X509Certificate) CertificateFactory
-                        .getInstance("X509")
-                        .generateCertificate(targetStream);
+                final var storedConfig = storedConfigs.config(acmeCertificatePath, domainKeyPairPath
+                        , () -> PublicKeyCryptoConfig.publicKeyCryptoConfig(readFileAsBytes(domainKeyPairPath)
+                                , readFileAsBytes(acmeCertificatePath)));
+                final var x509certificate = storedConfig.certificate();
                 final var currentTime = new Date();
                 try {
                     x509certificate.checkValidity(currentTime);
-                    return PublicKeyCryptoConfig.publicKeyCryptoConfig(readFileAsBytes(domainKeyPairPath)
-                            , readFileAsBytes(acmeCertificatePath));
+                    return Optional.of(storedConfig);
                 } catch (Throwable t2) {
                     logs().warn(tree("Certificate is invalid, according to the start, end and current time.")
                                     .withProperty("notBefore", "" + x509certificate.getNotBefore())
@@ -153,11 +271,22 @@ public class PublicKeyCryptoConfigurator {
                             , t2);
                 }
             }
+            return Optional.empty();
+        } catch (Throwable t) {
+            throw execException(t);
+        }
+    }
+
+    private PublicKeyCryptoConfig acmePublicKeyCryptoConfig(String domain) {
+        try {
             final var userKeyPair = userKeyPair();
             final var domainKeyPair = domainKeyPair();
             final var session = new Session(sessionUrl);
             final var account = account(session, userKeyPair);
-            final var certificate = requestCertificate(domain, account, domainKeyPair);
+            final var domains = new ArrayList<String>();
+            domains.add(domain);
+            domains.addAll(additionalDomains);
+            final var certificate = requestCertificate(domains, account, domainKeyPair);
             try (FileWriter fw = new FileWriter(acmeCertificatePath.toFile())) {
                 certificate.writeCertificate(fw);
             }
@@ -175,19 +304,21 @@ public class PublicKeyCryptoConfigurator {
         }
     }
 
-    private org.shredzone.acme4j.Certificate requestCertificate(String domain, Account account, KeyPair domainKeyPair) {
+    private org.shredzone.acme4j.Certificate requestCertificate(List<String> domains, Account account
+            , KeyPair domainKeyPair) {
         try {
-            final var order = account.newOrder().domain(domain).create();
-            order.getAuthorizations().forEach(this::authorize);
+            final var order = account.newOrder().domains(domains).create();
+            authorize(order.getAuthorizations());
             order.execute(domainKeyPair);
             // From experience this can take a lot of time. So any time limit, does not make any sense for now.
             int i = 0;
             while (true) {
-                ++i;
-                logs().append(tree("Waiting for `" + sessionUrl + "` to provide certificate.")
+                final var statusCheckCount = ++i;
+                structuredLog.append(() -> tree("Waiting for ACME server to provide certificate.")
+                                .withProperty("session", sessionUrl)
                                 .withProperty("status", order.getStatus().toString())
                                 .withProperty("error", order.getError().map(e -> e.toString()).orElse("No error is present."))
-                                .withProperty("status check count", "" + i)
+                                .withProperty("status check count", "" + statusCheckCount)
                         , LogLevel.INFO);
                 if (Status.INVALID.equals(order.getStatus())) {
                     throw ExecutionException.execException("Creating the certificate failed.");
@@ -198,11 +329,9 @@ public class PublicKeyCryptoConfigurator {
                 final var now = Instant.now();
                 final var updateTime = order.fetch().orElseGet(() -> Instant.now().plusSeconds(TIME_BETWEEN_CHECKS));
                 final var waitDuration = now.until(updateTime, ChronoUnit.MILLIS);
-                logs().append("Waiting "
-                                + waitDuration
-                                + " milliseconds for certificate to be provided by `"
-                                + sessionUrl
-                                + "`."
+                structuredLog.append(() -> tree("Waiting for certificate to be provided by ACME server.")
+                                .withProperty("session", sessionUrl)
+                                .withProperty("wait duration in milliseconds", "" + waitDuration)
                         , LogLevel.INFO);
                 sleepAtLeast(waitDuration);
             }
@@ -211,49 +340,78 @@ public class PublicKeyCryptoConfigurator {
         }
     }
 
-    private void authorize(Authorization auth) {
+    /**
+     * Triggers the challenges of all given authorizations at once and
+     * waits until all of these are completed.
+     * Therefore, the waiting time is the maximum of all challenges and not the sum of these.
+     *
+     * @param authorizations
+     */
+    private void authorize(List<Authorization> authorizations) {
+        final var pendingChallenges = new ArrayList<Http01Challenge>();
         try {
-            if (Status.VALID.equals(auth.getStatus())) {
-                return;
+            for (final var auth : authorizations) {
+                if (Status.VALID.equals(auth.getStatus())) {
+                    continue;
+                }
+                final var challenge = auth.findChallenge(Http01Challenge.class).orElseThrow();
+                currentAcmeChallengeResponses.put(challenge.getToken(), challenge.getAuthorization());
+                pendingChallenges.add(challenge);
+                structuredLog.append(() -> tree("Waiting for ACME server to execute the challenge.")
+                                .withProperty("session", sessionUrl)
+                                .withProperty("token", challenge.getToken())
+                                .withProperty("identifier", auth.getIdentifier().getValue())
+                                .withProperty("type of identifier", auth.getIdentifier().getType())
+                        , LogLevel.INFO);
+                challenge.trigger();
             }
-            configValue(CurrentAcmeAuthorization.class).withValue(Optional.of(auth));
-            final var challenge = auth.findChallenge(Http01Challenge.class).orElseThrow();
-            logs().append(tree("Waiting for `" + sessionUrl + "` to execute the challenge.")
-                            .withProperty("token", challenge.getToken())
-                            .withProperty("identifier", auth.getIdentifier().getValue())
-                            .withProperty("type of identifier", auth.getIdentifier().getType())
-                    , LogLevel.INFO);
-            challenge.trigger();
             // From experience this can take a lot of time. So any time limit, does not make any sense for now.
             int i = 0;
             while (true) {
-                ++i;
-                logs().append(tree("Waiting for `" + sessionUrl + "` to execute the challenge.")
-                                .withProperty("status", challenge.getStatus().toString())
-                                .withProperty("error", challenge.getError().map(e -> e.toString())
-                                        .orElse("No error is present."))
-                                .withProperty("status check count", "" + i)
-                        , LogLevel.INFO);
-                if (Status.INVALID.equals(challenge.getStatus())) {
-                    throw ExecutionException.execException(tree("Could not complete ACME challenge.")
-                            .withProperty("problem", challenge.getError().map(p -> p.toString()).orElse("No problem.")));
+                final var statusCheckCount = ++i;
+                final var now = Instant.now();
+                var nextUpdateTime = now.plusSeconds(TIME_BETWEEN_CHECKS);
+                final var pendingChallengesIterator = pendingChallenges.iterator();
+                while (pendingChallengesIterator.hasNext()) {
+                    final var challenge = pendingChallengesIterator.next();
+                    structuredLog.append(() -> tree("Waiting for ACME server to execute the challenge.")
+                                    .withProperty("session", sessionUrl)
+                                    .withProperty("token", challenge.getToken())
+                                    .withProperty("status", challenge.getStatus().toString())
+                                    .withProperty("error", challenge.getError().map(e -> e.toString())
+                                            .orElse("No error is present."))
+                                    .withProperty("status check count", "" + statusCheckCount)
+                            , LogLevel.INFO);
+                    if (Status.INVALID.equals(challenge.getStatus())) {
+                        throw ExecutionException.execException(tree("Could not complete ACME challenge.")
+                                .withProperty("token", challenge.getToken())
+                                .withProperty("problem", challenge.getError().map(p -> p.toString()).orElse("No problem.")));
+                    }
+                    if (Status.VALID.equals(challenge.getStatus())) {
+                        currentAcmeChallengeResponses.remove(challenge.getToken());
+                        pendingChallengesIterator.remove();
+                        continue;
+                    }
+                    final var updateTime = challenge.fetch().orElseGet(() -> Instant.now().plusSeconds(TIME_BETWEEN_CHECKS));
+                    if (updateTime.isBefore(nextUpdateTime)) {
+                        nextUpdateTime = updateTime;
+                    }
                 }
-                if (Status.VALID.equals(challenge.getStatus())) {
+                if (pendingChallenges.isEmpty()) {
                     return;
                 }
-                final var now = Instant.now();
-                final var updateTime = challenge.fetch().orElseGet(() -> Instant.now().plusSeconds(TIME_BETWEEN_CHECKS));
-                final var waitDuration = now.until(updateTime, ChronoUnit.MILLIS);
-                logs().append("Waiting "
-                                + waitDuration
-                                + " milliseconds for challenge update from `"
-                                + sessionUrl
-                                + "`."
+                final var waitDuration = Math.max(0, Instant.now().until(nextUpdateTime, ChronoUnit.MILLIS));
+                structuredLog.append(() -> tree("Waiting for update of challenges from ACME server.")
+                                .withProperty("session", sessionUrl)
+                                .withProperty("pending challenges", "" + pendingChallenges.size())
+                                .withProperty("wait duration in milliseconds", "" + waitDuration)
                         , LogLevel.INFO);
                 sleepAtLeast(waitDuration);
             }
         } catch (Throwable t) {
             throw execException(t);
+        } finally {
+            pendingChallenges.forEach(challenge -> currentAcmeChallengeResponses.remove(challenge.getToken()));
         }
     }
 
@@ -288,9 +446,13 @@ public class PublicKeyCryptoConfigurator {
                 throw execException(t);
             }
         }
+        if (KeyPairAlgorithm.ED25519.equals(domainKeyPairAlgorithm)) {
+            throw execException(tree("The domain key pair algorithm is not supported by ACME.")
+                    .withProperty("algorithm", domainKeyPairAlgorithm.toString()));
+        }
         net.splitcells.dem.resource.Files.createDirectory(domainKeyPairPath.getParent());
         try (FileWriter fw = new FileWriter(domainKeyPairPath.toFile())) {
-            final var newUserKeypair = KeyPairUtils.createKeyPair(4096);
+            final var newUserKeypair = domainKeyPairAlgorithm.generateKeyPair();
             KeyPairUtils.writeKeyPair(newUserKeypair, fw);
             return newUserKeypair;
         } catch (Throwable t) {
@@ -298,6 +460,11 @@ public class PublicKeyCryptoConfigurator {
         }
     }
 
+    public PublicKeyCryptoConfig selfSignedPublicKeyCryptoConfig() {
+        return selfSignedPublicKeyCryptoConfigurator(configValue(SelfSignedKeyPairs.class))
+                .storedSelfSignedPublicKeyCryptoConfig(selfSignedPrivateKeyPath, selfSignedCertificatePath);
+    }
+
     public Account account(Session session, KeyPair userKeyPair) {
         try {
             var tos = session.getMetadata().getTermsOfService();
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.acme;
+
+import net.splitcells.dem.environment.config.framework.Variable;
+import net.splitcells.dem.testing.annotations.UnitTest;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static net.splitcells.dem.Dem.process;
+import static net.splitcells.dem.environment.config.framework.Variable.variable;
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.acme.CertificateRenewal.certificateRenewal;
+import static net.splitcells.network.distro.java.acme.PublicKeyCryptoConfigurator.currentPublicKeyCryptoConfig;
+import static net.splitcells.network.distro.java.acme.SelfSignedPublicKeyCryptoConfigurator.selfSignedPublicKeyCryptoConfigurator;
+
+public class PublicKeyCryptoConfiguratorTest {
+    /**
+     * The crypto config has to be provided, while the ACME order is still pending,
+     * and has to be replaced, when the order is completed.
+     */
+    @UnitTest
+    public void testStartupWithPendingAcmeOrder() {
+        process(() -> {
+            final var pendingOrder = new CompletableFuture<PublicKeyCryptoConfig>();
+            final var selfSignedConfig = selfSignedPublicKeyCryptoConfigurator().selfSignedPublicKeyCryptoConfig();
+            final var acmeConfig = selfSignedPublicKeyCryptoConfigurator().selfSignedPublicKeyCryptoConfig();
+            final Variable<PublicKeyCryptoConfig> currentConfig = variable();
+            try (final var renewal = certificateRenewal(domain -> pendingOrder, "test ACME server", "localhost"
+                    , currentConfig)) {
+                currentPublicKeyCryptoConfig(currentConfig, Optional::empty, () -> selfSignedConfig, renewal);
+                requireEquals(pendingOrder.isDone(), false);
+                requireEquals(currentConfig.value(), Optional.of(selfSignedConfig));
+                pendingOrder.complete(acmeConfig);
+                requireEquals(currentConfig.value(), Optional.of(acmeConfig));
+            }
+        }, env -> {
+        });
+    }
+}
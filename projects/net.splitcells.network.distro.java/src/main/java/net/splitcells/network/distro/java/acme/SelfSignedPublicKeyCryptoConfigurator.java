@@ -16,6 +16,7 @@
 package net.splitcells.network.distro.java.acme;
 
 import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.communication.log.LogLevel;
 import net.splitcells.dem.utils.StringUtils;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
@@ -23,17 +24,27 @@ import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
-import org.shredzone.acme4j.util.KeyPairUtils;
 
 import java.io.IOException;
 import java.io.StringWriter;
 import java.math.BigInteger;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.security.KeyPair;
 import java.security.Provider;
 import java.security.Security;
 import java.security.cert.Certificate;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.function.Supplier;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.Files.fileExists;
+import static net.splitcells.dem.resource.Files.readFileAsBytes;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+import static net.splitcells.dem.utils.ExecutionException.execException;
 
 @JavaLegacy
 public class SelfSignedPublicKeyCryptoConfigurator {
@@ -43,21 +54,91 @@ public class SelfSignedPublicKeyCryptoConfigurator {
         Security.addProvider(SECURITY_PROVIDER);
     }
 
+    /**
+     * Stored self-signed certificates are replaced, when their remaining validity is shorter than this.
+     */
+    private static final Duration MINIMUM_REMAINING_VALIDITY = Duration.ofDays(7);
+
     public static SelfSignedPublicKeyCryptoConfigurator selfSignedPublicKeyCryptoConfigurator() {
-        return new SelfSignedPublicKeyCryptoConfigurator();
+        return selfSignedPublicKeyCryptoConfigurator(KeyPairAlgorithm.ECDSA_P256);
     }
 
-    private SelfSignedPublicKeyCryptoConfigurator() {
+    public static SelfSignedPublicKeyCryptoConfigurator selfSignedPublicKeyCryptoConfigurator(KeyPairAlgorithm algorithm) {
+        return new SelfSignedPublicKeyCryptoConfigurator(algorithm, algorithm::generateKeyPair);
+    }
 
+    /**
+     * @param keyPairs Provides pre-generated key pairs, so that the key generation is not done by the caller.
+     * @return
+     */
+    public static SelfSignedPublicKeyCryptoConfigurator selfSignedPublicKeyCryptoConfigurator(KeyPairPool keyPairs) {
+        return new SelfSignedPublicKeyCryptoConfigurator(keyPairs.algorithm(), keyPairs::take);
     }
 
     private final String defaultIdentityName = "anonymous";
     private final X500Name defaultIdentity = new X500Name("CN=" + defaultIdentityName);
-    private final String signatureAlgorithm = "SHA256WithRSA";
-    private final int keySize = 4096;
+    private final String signatureAlgorithm;
+    private final Supplier<KeyPair> keyPairs;
+
+    private SelfSignedPublicKeyCryptoConfigurator(KeyPairAlgorithm algorithm, Supplier<KeyPair> keyPairs) {
+        signatureAlgorithm = algorithm.signatureAlgorithm();
+        this.keyPairs = keyPairs;
+    }
+
+    /**
+     * Reuses the self-signed config stored in the given files,
+     * if its certificate is valid for at least {@link #MINIMUM_REMAINING_VALIDITY}.
+     * Otherwise, a new config is generated and stored in these files.
+     *
+     * @param privateKeyPath
+     * @param certificatePath
+     * @return
+     */
+    public PublicKeyCryptoConfig storedSelfSignedPublicKeyCryptoConfig(Path privateKeyPath, Path certificatePath) {
+        if (fileExists(privateKeyPath) && fileExists(certificatePath)) {
+            final var storedConfig = PublicKeyCryptoConfig.publicKeyCryptoConfig(readFileAsBytes(privateKeyPath)
+                    , readFileAsBytes(certificatePath));
+            try {
+                storedConfig.certificate().checkValidity(Date.from(Instant.now().plus(MINIMUM_REMAINING_VALIDITY)));
+                return storedConfig;
+            } catch (Throwable t) {
+                logs().append(tree("Replacing stored self-signed certificate.")
+                                .withProperty("notAfter", "" + storedConfig.certificate().getNotAfter())
+                        , LogLevel.INFO);
+            }
+        }
+        final var newConfig = selfSignedPublicKeyCryptoConfig();
+        net.splitcells.dem.resource.Files.createDirectory(certificatePath.getParent());
+        try {
+            writeOwnerOnlyFile(privateKeyPath, newConfig.privatePem());
+            java.nio.file.Files.write(certificatePath, newConfig.publicPem());
+        } catch (IOException e) {
+            throw execException(tree("Could not store self-signed certificate.")
+                    .withProperty("certificate path", certificatePath.toString()), e);
+        }
+        return newConfig;
+    }
+
+    /**
+     * Writes the given content into a file, that can only be read and written by the owner,
+     * if the file system supports POSIX permissions.
+     * An existing file is replaced, so that it does not keep its old permissions.
+     *
+     * @param path    The file to write.
+     * @param content The content of the file.
+     * @throws IOException
+     */
+    private static void writeOwnerOnlyFile(Path path, byte[] content) throws IOException {
+        java.nio.file.Files.deleteIfExists(path);
+        if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            java.nio.file.Files.createFile(path
+                    , PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+        java.nio.file.Files.write(path, content);
+    }
 
     public PublicKeyCryptoConfig selfSignedPublicKeyCryptoConfig() {
-        final var selfSignedKeyPair = KeyPairUtils.createKeyPair(keySize);
+        final var selfSignedKeyPair = keyPairs.get();
         final var certificate = selfSignedCertificate(selfSignedKeyPair);
         final var privateKeyPem = new StringWriter();
         try (JcaPEMWriter pemWriter = new JcaPEMWriter(privateKeyPem)) {
@@ -17,6 +17,7 @@ package net.splitcells.network.distro.java.acme;
 
 import net.splitcells.dem.testing.annotations.UnitTest;
 
+import static net.splitcells.dem.testing.Assertions.requireEquals;
 import static net.splitcells.network.distro.java.acme.SelfSignedPublicKeyCryptoConfigurator.selfSignedPublicKeyCryptoConfigurator;
 
 public class SelfSignedPublicKeyCryptoConfiguratorTest {
@@ -27,4 +28,23 @@ public class SelfSignedPublicKeyCryptoConfiguratorTest {
     public void test() {
         selfSignedPublicKeyCryptoConfigurator().selfSignedPublicKeyCryptoConfig();
     }
+
+    /**
+     * Tests whether the PEM files of a generated config can be parsed into TLS objects.
+     */
+    @UnitTest
+    public void testParsedTlsMaterial() {
+        final var config = selfSignedPublicKeyCryptoConfigurator().selfSignedPublicKeyCryptoConfig();
+        requireEquals(config.certificateChain().size(), 1);
+        requireEquals(config.privateKey().getAlgorithm(), config.certificate().getPublicKey().getAlgorithm());
+        requireEquals(config.keyManagers(), config.keyManagers());
+    }
+
+    @UnitTest
+    public void testKeyPairAlgorithms() {
+        for (final var algorithm : new KeyPairAlgorithm[]{KeyPairAlgorithm.ECDSA_P256, KeyPairAlgorithm.ED25519}) {
+            final var config = selfSignedPublicKeyCryptoConfigurator(algorithm).selfSignedPublicKeyCryptoConfig();
+            requireEquals(config.privateKey().getAlgorithm(), config.certificate().getPublicKey().getAlgorithm());
+        }
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.acme;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.communication.log.LogLevel;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+
+/**
+ * <p>Reduces the cost of TLS handshakes of the JDK's TLS implementation,
+ * which is used via {@link CurrentSslContext}.</p>
+ * <p>Returning clients resume their sessions via stateless session tickets.
+ * The JDK encrypts the tickets with keys shared by all {@link javax.net.ssl.SSLContext}s of the process and
+ * replaces these keys after {@link TlsSessionTicketKeyLifetime}.</p>
+ * <p>OCSP responses are fetched by the JDK in the background and cached,
+ * so that these are stapled to the handshake and clients do not have to contact the OCSP responder themselves.
+ * The OCSP responder of the certificate can be replaced by {@link OcspResponderUri},
+ * which is useful for tests with a local responder.</p>
+ * <p>The settings are system properties, which are read by the JDK, when its TLS implementation is first used.
+ * Therefore, these are set at the start of {@link net.splitcells.network.distro.java.DistroCell}.</p>
+ */
+@JavaLegacy
+public class TlsHandshakeOptimizations {
+    private static final Duration OCSP_CACHE_LIFETIME = Duration.ofHours(1);
+
+    public static void enableTlsHandshakeOptimizations(Duration sessionTicketKeyLifetime
+            , Optional<String> ocspResponderUri) {
+        System.setProperty("jdk.tls.server.enableSessionTicketExtension", "true");
+        System.setProperty("jdk.tls.server.statelessKeyTimeout", "" + sessionTicketKeyLifetime.toSeconds());
+        System.setProperty("jdk.tls.server.enableStatusRequestExtension", "true");
+        System.setProperty("jdk.tls.stapling.cacheLifetime", "" + OCSP_CACHE_LIFETIME.toSeconds());
+        ocspResponderUri.ifPresent(uri -> {
+            System.setProperty("jdk.tls.stapling.responderURI", uri);
+            System.setProperty("jdk.tls.stapling.responderOverride", "true");
+        });
+        logs().append(tree("Enabled TLS session tickets and OCSP stapling.")
+                        .withProperty("session ticket key lifetime", sessionTicketKeyLifetime.toString())
+                        .withProperty("OCSP responder", ocspResponderUri.orElse("Provided by the certificate."))
+                , LogLevel.INFO);
+    }
+
+    private TlsHandshakeOptimizations() {
+
+    }
+}
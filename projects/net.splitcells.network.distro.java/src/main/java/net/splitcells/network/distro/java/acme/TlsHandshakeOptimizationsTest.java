@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.acme;
+
+import com.sun.net.httpserver.HttpServer;
+import net.splitcells.dem.Dem;
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.testing.annotations.IntegrationTest;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.acme.TlsHandshakeOptimizations.enableTlsHandshakeOptimizations;
+
+@JavaLegacy
+public class TlsHandshakeOptimizationsTest {
+    /**
+     * This is an OCSP response with the status `tryLater`, which is enough for the JDK to complete its request.
+     */
+    private static final byte[] TRY_LATER_OCSP_RESPONSE = new byte[]{0x30, 0x03, 0x0A, 0x01, 0x03};
+
+    /**
+     * <p>The OCSP responder is replaced by a local stand-in,
+     * which has to be contacted by the server during a TLS handshake, that requests OCSP stapling.</p>
+     * <p>The settings are global system properties, which are only read by the JDK,
+     * when its TLS implementation is used for the first time.
+     * Therefore, the handshake is done by {@link #main(String...)} in a forked JVM,
+     * so that the result does not depend on other tests and the properties of this JVM are not changed.</p>
+     *
+     * @throws Exception
+     */
+    @IntegrationTest
+    public void testOcspResponderOverride() throws Exception {
+        final var process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString()
+                , "-cp", System.getProperty("java.class.path")
+                , TlsHandshakeOptimizationsTest.class.getName())
+                .inheritIO()
+                .start();
+        if (!process.waitFor(2, TimeUnit.MINUTES)) {
+            process.destroyForcibly().waitFor();
+        }
+        requireEquals(process.exitValue(), 0);
+    }
+
+    /**
+     * Does the handshake of {@link #testOcspResponderOverride()} in the forked JVM.
+     *
+     * @param args These are not used.
+     * @throws Exception
+     */
+    public static void main(String... args) throws Exception {
+        final var ocspRequests = new AtomicInteger();
+        final var ocspResponder = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ocspResponder.createContext("/", exchange -> {
+            ocspRequests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/ocsp-response");
+            exchange.sendResponseHeaders(200, TRY_LATER_OCSP_RESPONSE.length);
+            try (final var response = exchange.getResponseBody()) {
+                response.write(TRY_LATER_OCSP_RESPONSE);
+            }
+        });
+        ocspResponder.start();
+        try {
+            final var handshakeDone = new AtomicBoolean(false);
+            Dem.process(() -> {
+                try {
+                    enableTlsHandshakeOptimizations(Duration.ofHours(1)
+                            , Optional.of("http://localhost:" + ocspResponder.getAddress().getPort() + "/"));
+                    System.setProperty("jdk.tls.client.enableStatusRequestExtension", "true");
+                    requireEquals(System.getProperty("jdk.tls.server.statelessKeyTimeout"), "3600");
+                    final var algorithm = KeyPairAlgorithm.ECDSA_P256;
+                    final var authorityKeyPair = algorithm.generateKeyPair();
+                    final var authority = certificate(algorithm, "CN=authority", authorityKeyPair.getPublic()
+                            , "CN=authority", authorityKeyPair, true);
+                    final var serverKeyPair = algorithm.generateKeyPair();
+                    final var server = certificate(algorithm, "CN=localhost", serverKeyPair.getPublic()
+                            , "CN=authority", authorityKeyPair, false);
+                    handshake(serverKeyPair, new Certificate[]{server, authority});
+                    handshakeDone.set(true);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }, env -> {
+            });
+            if (!handshakeDone.get() || ocspRequests.get() == 0) {
+                System.exit(1);
+            }
+        } finally {
+            ocspResponder.stop(0);
+        }
+        System.exit(0);
+    }
+
+    private static void handshake(KeyPair serverKeyPair, Certificate[] serverChain) throws Exception {
+        final var keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setKeyEntry("server", serverKeyPair.getPrivate(), new char[0], serverChain);
+        final var keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, new char[0]);
+        final var serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagers.getKeyManagers(), null, null);
+        final var clientContext = SSLContext.getInstance("TLS");
+        clientContext.init(null, new TrustManager[]{new TrustingTrustManager()}, null);
+        try (final var serverSocket = (SSLServerSocket) serverContext.getServerSocketFactory()
+                .createServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final var serverHandshake = CompletableFuture.runAsync(() -> {
+                try (final var socket = (SSLSocket) serverSocket.accept()) {
+                    socket.startHandshake();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            try (final var socket = (SSLSocket) clientContext.getSocketFactory()
+                    .createSocket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort())) {
+                socket.startHandshake();
+            }
+            serverHandshake.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static X509Certificate certificate(KeyPairAlgorithm algorithm, String subject, PublicKey subjectKey
+            , String issuer, KeyPair issuerKeyPair, boolean isAuthority) throws Exception {
+        final var now = Instant.now();
+        final var builder = new JcaX509v3CertificateBuilder(new X500Name(issuer)
+                , BigInteger.valueOf(now.toEpochMilli())
+                , Date.from(now.minus(Duration.ofDays(1)))
+                , Date.from(now.plus(Duration.ofDays(1)))
+                , new X500Name(subject)
+                , subjectKey);
+        builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(isAuthority));
+        return new JcaX509CertificateConverter().getCertificate(builder
+                .build(new JcaContentSignerBuilder(algorithm.signatureAlgorithm())
+                        .build(issuerKeyPair.getPrivate())));
+    }
+
+    /**
+     * The validity of the certificates is not part of this test.
+     */
+    private static final class TrustingTrustManager implements X509TrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -16,16 +16,199 @@
 package net.splitcells.network.distro.java.h2;
 
 import net.splitcells.dem.lang.annotations.JavaLegacy;
+import org.h2.jdbcx.JdbcConnectionPool;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Provides an embedded H2 database via a bounded pool of connections,
+ * so that the connection setup is not paid for each access.
+ * If all connections are in use, a caller waits until a connection is returned to the pool.</p>
+ * <p>H2 caches the parsed prepared statements per connection.
+ * As the pooled connections are kept open, repeated statements are not parsed again.
+ * The size of this cache and the cache of the MVStore are set via the URL.</p>
+ * <p>The database is not closed by H2's own shutdown hook,
+ * because it is closed via {@link #close()} by the {@link H2DatabaseCell} instead.
+ * This way the database is closed after the resources, that use it.</p>
+ */
 @JavaLegacy
-public class H2Database {
-    public static void main(String[] a)
-            throws Exception {
-        Class.forName("org.h2.Driver");
-        Connection conn = DriverManager.getConnection("jdbc:h2:./database", "sa", "");
-        conn.close();
+public class H2Database implements AutoCloseable {
+    /**
+     * Opens and closes the given database, which is useful in order to check if the database can be accessed.
+     *
+     * @param args The first argument is the JDBC URL of the database, like the one used by {@link H2DatabaseCell}.
+     */
+    public static void main(String... args) {
+        try (final var database = h2Database(args[0], 1, 16 * 1024, 64)) {
+            database.query("SELECT 1", row -> row.getInt(1));
+        }
+    }
+
+    /**
+     * @param url                The JDBC URL of the database without settings.
+     * @param maxConnections     The maximum number of connections of the pool.
+     * @param cacheSizeInKiB     The size of the MVStore cache in KiB.
+     * @param statementCacheSize The number of prepared statements, that are cached per connection.
+     * @return An opened database.
+     */
+    public static H2Database h2Database(String url, int maxConnections, int cacheSizeInKiB, int statementCacheSize) {
+        return new H2Database(url
+                + ";CACHE_SIZE=" + cacheSizeInKiB
+                + ";QUERY_CACHE_SIZE=" + statementCacheSize
+                + ";DB_CLOSE_ON_EXIT=FALSE"
+                , maxConnections);
+    }
+
+    /**
+     * Maps the current row of a {@link ResultSet} to an object.
+     *
+     * @param <T> The type of the object.
+     */
+    public interface RowMapper<T> {
+        T map(ResultSet row) throws SQLException;
+    }
+
+    /**
+     * Sets the parameters of a batch entry.
+     *
+     * @param <T> The type of the entries.
+     */
+    public interface BatchEntrySetter<T> {
+        void set(PreparedStatement statement, T entry) throws SQLException;
+    }
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final String url;
+    private final JdbcConnectionPool pool;
+
+    private H2Database(String url, int maxConnections) {
+        this.url = url;
+        pool = JdbcConnectionPool.create(url, "sa", "");
+        pool.setMaxConnections(maxConnections);
+    }
+
+    /**
+     * @param sql        The statement, that changes the database.
+     * @param parameters The parameters of the statement.
+     * @return The number of changed rows.
+     */
+    public int update(String sql, Object... parameters) {
+        try (final var connection = pool.getConnection();
+             final var statement = connection.prepareStatement(sql)) {
+            setParameters(statement, parameters);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw execException(tree("Could not update database.")
+                    .withProperty("url", url)
+                    .withProperty("sql", sql), e);
+        }
+    }
+
+    /**
+     * @param sql        The query.
+     * @param mapper     Maps each row of the result.
+     * @param parameters The parameters of the query.
+     * @param <T>        The type of the mapped rows.
+     * @return The mapped rows of the result.
+     */
+    public <T> List<T> query(String sql, RowMapper<T> mapper, Object... parameters) {
+        try (final var connection = pool.getConnection();
+             final var statement = connection.prepareStatement(sql)) {
+            setParameters(statement, parameters);
+            try (final var resultSet = statement.executeQuery()) {
+                final var result = new ArrayList<T>();
+                while (resultSet.next()) {
+                    result.add(mapper.map(resultSet));
+                }
+                return result;
+            }
+        } catch (SQLException e) {
+            throw execException(tree("Could not query database.")
+                    .withProperty("url", url)
+                    .withProperty("sql", sql), e);
+        }
+    }
+
+    /**
+     * Writes all entries in one transaction via JDBC batches,
+     * so that not every entry causes its own round trip and commit.
+     *
+     * @param sql     The statement, that is executed for each entry.
+     * @param entries The entries to be written.
+     * @param setter  Sets the parameters of the statement for one entry.
+     * @param <T>     The type of the entries.
+     */
+    public <T> void batch(String sql, List<T> entries, BatchEntrySetter<T> setter) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (final var connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (final var statement = connection.prepareStatement(sql)) {
+                int batchSize = 0;
+                for (final var entry : entries) {
+                    setter.set(statement, entry);
+                    statement.addBatch();
+                    if (++batchSize == MAX_BATCH_SIZE) {
+                        statement.executeBatch();
+                        batchSize = 0;
+                    }
+                }
+                if (batchSize > 0) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw execException(tree("Could not write batch to database.")
+                    .withProperty("url", url)
+                    .withProperty("sql", sql)
+                    .withProperty("number of entries", "" + entries.size()), e);
+        }
+    }
+
+    /**
+     * @return A connection of the pool, which has to be closed by the caller, in order to return it to the pool.
+     */
+    public Connection connection() {
+        try {
+            return pool.getConnection();
+        } catch (SQLException e) {
+            throw execException(tree("Could not get database connection.")
+                    .withProperty("url", url), e);
+        }
+    }
+
+    public int activeConnections() {
+        return pool.getActiveConnections();
+    }
+
+    /**
+     * Closes all connections of the pool and thereby the database.
+     * Connections in use are closed, when these are returned to the pool.
+     */
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+
+    private static void setParameters(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; ++i) {
+            statement.setObject(i + 1, parameters[i]);
+        }
     }
 }
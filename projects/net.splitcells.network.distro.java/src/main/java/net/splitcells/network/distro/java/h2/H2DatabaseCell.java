@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.h2;
+
+import net.splitcells.dem.environment.Cell;
+import net.splitcells.dem.environment.Environment;
+import net.splitcells.dem.resource.ConfigFileSystem;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static net.splitcells.network.distro.java.ShutdownCoordinator.globalShutdownCoordinator;
+import static net.splitcells.network.distro.java.h2.H2Database.h2Database;
+
+/**
+ * <p>Opens the {@link H2Database} and provides it via {@link CurrentH2Database}.
+ * The database is closed via the {@link net.splitcells.network.distro.java.ShutdownCoordinator}.</p>
+ * <p>By default, the database is stored in the {@link ConfigFileSystem} of the program,
+ * instead of the working directory.
+ * This cell is only started by the cells, that need the database, like the {@link LogStoreCell}.</p>
+ */
+public class H2DatabaseCell implements Cell {
+    @Override public String groupId() {
+        return "net.splitcells";
+    }
+
+    @Override public String artifactId() {
+        return "network.distro.java";
+    }
+
+    private static final String DATABASE_PATH = "net/splitcells/network/distro/java/h2";
+
+    @Override public void accept(Environment env) {
+        if (env.config().configValue(CurrentH2Database.class).isPresent()) {
+            return;
+        }
+        final var url = env.config().configValue(H2DatabaseUrl.class).orElseGet(() -> {
+            final var configFileSystem = env.config().configValue(ConfigFileSystem.class);
+            configFileSystem.createDirectoryPath(DATABASE_PATH);
+            return "jdbc:h2:" + configFileSystem
+                    .javaLegacyPath(Path.of("./", DATABASE_PATH.split("/")).resolve("database"))
+                    .orElseThrow()
+                    .toAbsolutePath();
+        });
+        final var database = h2Database(url
+                , env.config().configValue(H2ConnectionPoolSize.class)
+                , env.config().configValue(H2CacheSize.class)
+                , env.config().configValue(H2StatementCacheSize.class));
+        globalShutdownCoordinator().register("Close H2 database.", database::close);
+        env.config().withConfigValue(CurrentH2Database.class, Optional.of(database));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.h2;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+
+import java.util.List;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.h2.H2Database.h2Database;
+
+public class H2DatabaseTest {
+    @UnitTest
+    public void testBatch() {
+        try (final var testSubject = h2Database("jdbc:h2:mem:h2DatabaseTest", 2, 1024, 16)) {
+            testSubject.update("CREATE TABLE entries (id INT PRIMARY KEY, name VARCHAR)");
+            testSubject.batch("INSERT INTO entries (id, name) VALUES (?, ?)", List.of("a", "b", "c")
+                    , (statement, entry) -> {
+                        statement.setInt(1, entry.charAt(0));
+                        statement.setString(2, entry);
+                    });
+            requireEquals(testSubject.query("SELECT name FROM entries WHERE id > ? ORDER BY id"
+                    , row -> row.getString(1), (int) 'a'), List.of("b", "c"));
+            requireEquals(testSubject.activeConnections(), 0);
+        }
+    }
+}
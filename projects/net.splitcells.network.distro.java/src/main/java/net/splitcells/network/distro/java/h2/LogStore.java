@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.h2;
+
+import net.splitcells.dem.lang.annotations.JavaLegacy;
+import net.splitcells.dem.resource.FileSystemView;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static net.splitcells.dem.lang.tree.TreeI.tree;
+import static net.splitcells.dem.resource.communication.log.Logs.logs;
+import static net.splitcells.dem.utils.ExecutionException.execException;
+
+/**
+ * <p>Stores the lines of log files in the {@link H2Database},
+ * so that big logs can be queried via indexes, instead of scanning the files.
+ * Every line of a file is one entry.</p>
+ * <p>The files are ingested incrementally:
+ * for every file the number of already ingested bytes and lines is stored.
+ * During an ingestion, the already ingested bytes are skipped and only the later lines are inserted.
+ * The lines of a file and its new position are written in the same transaction.
+ * If a file got shorter than its ingested bytes, like it is the case for a rotated log file,
+ * it is assumed that the file was replaced and all of its lines are ingested again.</p>
+ * <p>The time and level of an entry are parsed from the line, if present.
+ * Otherwise, the time of the ingestion is used as the time and the level is empty.
+ * The worker of an entry is the name of the folder, that contains the log file.</p>
+ * <p>The entries are queried page by page from the newest to the oldest entry.
+ * The pages are defined via the id of the last entry of the previous page instead of an offset,
+ * so that a page is found via the index, regardless of how many entries are present.
+ * The entries can be limited to a time range, which is looked up via the index of the time.</p>
+ */
+@JavaLegacy
+public class LogStore implements AutoCloseable {
+    public static LogStore logStore(H2Database database, FileSystemView logs) {
+        return new LogStore(database, logs);
+    }
+
+    private static final Pattern TIME = Pattern.compile("^\\[?(\\d{4}-\\d{2}-\\d{2}[T ]\\d{2}:\\d{2}:\\d{2}(\\.\\d{1,9})?)");
+    private static final Pattern LEVEL = Pattern.compile("\\b(TRACE|DEBUG|INFO|WARN|WARNING|ERROR|CRITICAL)\\b");
+    private static final int CHUNK_SIZE = 1000;
+
+    private final H2Database database;
+    private final FileSystemView logs;
+    private ScheduledExecutorService ingestion;
+
+    private LogStore(H2Database database, FileSystemView logs) {
+        this.database = database;
+        this.logs = logs;
+        database.update("CREATE TABLE IF NOT EXISTS log_entries ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY"
+                + ", logged_at TIMESTAMP NOT NULL"
+                + ", level VARCHAR(16) NOT NULL"
+                + ", worker VARCHAR(1024) NOT NULL"
+                + ", source VARCHAR(4096) NOT NULL"
+                + ", line_number INT NOT NULL"
+                + ", message VARCHAR NOT NULL)");
+        database.update("CREATE INDEX IF NOT EXISTS log_entries_logged_at ON log_entries (logged_at)");
+        database.update("CREATE INDEX IF NOT EXISTS log_entries_level ON log_entries (level, id)");
+        database.update("CREATE INDEX IF NOT EXISTS log_entries_worker ON log_entries (worker, id)");
+        database.update("CREATE INDEX IF NOT EXISTS log_entries_level_worker ON log_entries (level, worker, id)");
+        database.update("CREATE INDEX IF NOT EXISTS log_entries_source ON log_entries (source)");
+        database.update("CREATE TABLE IF NOT EXISTS log_sources ("
+                + "source VARCHAR(4096) PRIMARY KEY"
+                + ", ingested_bytes BIGINT NOT NULL"
+                + ", ingested_lines INT NOT NULL)");
+    }
+
+    /**
+     * Ingests new lines of all log files regularly in a daemon thread.
+     *
+     * @param interval The time between two ingestions.
+     * @return This.
+     */
+    public synchronized LogStore start(Duration interval) {
+        if (ingestion != null) {
+            return this;
+        }
+        ingestion = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "Log store ingestion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ingestion.scheduleWithFixedDelay(() -> {
+            try {
+                ingest();
+            } catch (Throwable t) {
+                logs().warn("Could not ingest logs into database.", t);
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Ingests the new lines of all log files once.
+     *
+     * @return The number of ingested lines.
+     */
+    public long ingest() {
+        final List<Path> files;
+        try (final Stream<Path> paths = logs.walkRecursively()) {
+            files = paths.filter(logs::isFile).collect(Collectors.toList());
+        }
+        long ingestedLines = 0;
+        for (final var file : files) {
+            ingestedLines += ingest(file);
+        }
+        return ingestedLines;
+    }
+
+    private int ingest(Path file) {
+        final var ingestedLines = ingestNewLines(file);
+        if (ingestedLines < 0) {
+            return ingestNewLines(file);
+        }
+        return ingestedLines;
+    }
+
+    /**
+     * The new lines are committed in chunks of {@link #CHUNK_SIZE} lines together with the new position,
+     * so that a big file does not cause one big transaction.
+     * Only complete lines are ingested,
+     * so that a line, that is currently written, is ingested completely during a later ingestion.
+     *
+     * @param file The log file.
+     * @return The number of ingested lines or -1, if the file was replaced and therefore has to be ingested again.
+     */
+    private int ingestNewLines(Path file) {
+        final var source = file.toString();
+        final var worker = Optional.ofNullable(file.getParent()).map(p -> p.getFileName().toString()).orElse("");
+        final var ingestionTime = Timestamp.from(Instant.now());
+        try (final var connection = database.connection()) {
+            connection.setAutoCommit(false);
+            try {
+                final var position = position(connection, source);
+                try (final var insert = connection.prepareStatement("INSERT INTO log_entries"
+                        + " (logged_at, level, worker, source, line_number, message) VALUES (?, ?, ?, ?, ?, ?)");
+                     final var input = new BufferedInputStream(logs.inputStream(file))) {
+                    if (!skip(input, position.ingestedBytes)) {
+                        connection.rollback();
+                        try (final var delete = connection.prepareStatement("DELETE FROM log_entries WHERE source = ?")) {
+                            delete.setString(1, source);
+                            delete.executeUpdate();
+                        }
+                        setPosition(connection, source, new Position(0, 0));
+                        connection.commit();
+                        return -1;
+                    }
+                    long ingestedBytes = position.ingestedBytes;
+                    int lineNumber = position.ingestedLines;
+                    int newLines = 0;
+                    final var line = new ByteArrayOutputStream();
+                    int next;
+                    while ((next = input.read()) != -1) {
+                        if (next != '\n') {
+                            line.write(next);
+                            continue;
+                        }
+                        ingestedBytes += line.size() + 1;
+                        ++lineNumber;
+                        final var message = message(line);
+                        line.reset();
+                        insert.setTimestamp(1, time(message).orElse(ingestionTime));
+                        insert.setString(2, level(message));
+                        insert.setString(3, worker);
+                        insert.setString(4, source);
+                        insert.setInt(5, lineNumber);
+                        insert.setString(6, message);
+                        insert.addBatch();
+                        if (++newLines % CHUNK_SIZE == 0) {
+                            insert.executeBatch();
+                            setPosition(connection, source, new Position(ingestedBytes, lineNumber));
+                            connection.commit();
+                        }
+                    }
+                    insert.executeBatch();
+                    setPosition(connection, source, new Position(ingestedBytes, lineNumber));
+                    connection.commit();
+                    return newLines;
+                }
+            } catch (SQLException | IOException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            throw execException(tree("Could not ingest log file into database.")
+                    .withProperty("file", source), e);
+        }
+    }
+
+    /**
+     * @param level  Only entries with this level are returned, if present.
+     * @param worker Only entries of this worker are returned, if present.
+     * @param since  Only entries logged at or after this time are returned, if present.
+     * @param until  Only entries logged before this time are returned, if present.
+     * @param before Only entries with a lower id are returned, if present.
+     * @param limit  The maximum number of returned entries.
+     * @return The newest entries, that fit to the given filters.
+     */
+    public List<LogEntry> page(Optional<String> level, Optional<String> worker
+            , Optional<Instant> since, Optional<Instant> until
+            , Optional<Long> before, int limit) {
+        final var sql = new StringBuilder("SELECT id, logged_at, level, worker, source, line_number, message"
+                + " FROM log_entries WHERE 1 = 1");
+        final var parameters = new ArrayList<Object>();
+        level.ifPresent(l -> {
+            sql.append(" AND level = ?");
+            parameters.add(l);
+        });
+        worker.ifPresent(w -> {
+            sql.append(" AND worker = ?");
+            parameters.add(w);
+        });
+        since.ifPresent(s -> {
+            sql.append(" AND logged_at >= ?");
+            parameters.add(Timestamp.from(s));
+        });
+        until.ifPresent(u -> {
+            sql.append(" AND logged_at < ?");
+            parameters.add(Timestamp.from(u));
+        });
+        before.ifPresent(b -> {
+            sql.append(" AND id < ?");
+            parameters.add(b);
+        });
+        sql.append(" ORDER BY id DESC LIMIT ?");
+        parameters.add(limit);
+        return database.query(sql.toString(), row -> new LogEntry(row.getLong(1)
+                        , row.getTimestamp(2).toInstant()
+                        , row.getString(3)
+                        , row.getString(4)
+                        , row.getString(5)
+                        , row.getInt(6)
+                        , row.getString(7))
+                , parameters.toArray());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (ingestion != null) {
+            ingestion.shutdown();
+            try {
+                ingestion.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Position position(Connection connection, String source) throws SQLException {
+        try (final var query = connection.prepareStatement("SELECT ingested_bytes, ingested_lines"
+                + " FROM log_sources WHERE source = ?")) {
+            query.setString(1, source);
+            try (final var result = query.executeQuery()) {
+                if (result.next()) {
+                    return new Position(result.getLong(1), result.getInt(2));
+                }
+                return new Position(0, 0);
+            }
+        }
+    }
+
+    private static void setPosition(Connection connection, String source, Position position) throws SQLException {
+        try (final var merge = connection.prepareStatement("MERGE INTO log_sources (source, ingested_bytes, ingested_lines)"
+                + " KEY (source) VALUES (?, ?, ?)")) {
+            merge.setString(1, source);
+            merge.setLong(2, position.ingestedBytes);
+            merge.setInt(3, position.ingestedLines);
+            merge.executeUpdate();
+        }
+    }
+
+    /**
+     * Skips the already ingested bytes, which is a seek for streams of files.
+     *
+     * @param input The content of a log file.
+     * @param bytes The number of bytes to skip.
+     * @return Whether the given number of bytes was skipped or the file is shorter than that.
+     * @throws IOException
+     */
+    private static boolean skip(InputStream input, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            final var skipped = input.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else if (input.read() == -1) {
+                return false;
+            } else {
+                --remaining;
+            }
+        }
+        return true;
+    }
+
+    private static String message(ByteArrayOutputStream line) {
+        final var message = new String(line.toByteArray(), StandardCharsets.UTF_8);
+        if (message.endsWith("\r")) {
+            return message.substring(0, message.length() - 1);
+        }
+        return message;
+    }
+
+    private static Optional<Timestamp> time(String line) {
+        final var matcher = TIME.matcher(line);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Timestamp.valueOf(matcher.group(1).replace('T', ' ')));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String level(String line) {
+        final var matcher = LEVEL.matcher(line);
+        if (!matcher.find()) {
+            return "";
+        }
+        return matcher.group(1);
+    }
+
+    private static final class Position {
+        private final long ingestedBytes;
+        private final int ingestedLines;
+
+        private Position(long ingestedBytes, int ingestedLines) {
+            this.ingestedBytes = ingestedBytes;
+            this.ingestedLines = ingestedLines;
+        }
+    }
+
+    public static final class LogEntry {
+        private final long id;
+        private final Instant loggedAt;
+        private final String level;
+        private final String worker;
+        private final String source;
+        private final int lineNumber;
+        private final String message;
+
+        private LogEntry(long id, Instant loggedAt, String level, String worker, String source, int lineNumber
+                , String message) {
+            this.id = id;
+            this.loggedAt = loggedAt;
+            this.level = level;
+            this.worker = worker;
+            this.source = source;
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public long id() {
+            return id;
+        }
+
+        public Instant loggedAt() {
+            return loggedAt;
+        }
+
+        public String level() {
+            return level;
+        }
+
+        public String worker() {
+            return worker;
+        }
+
+        public String source() {
+            return source;
+        }
+
+        public int lineNumber() {
+            return lineNumber;
+        }
+
+        public String message() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.h2;
+
+import net.splitcells.dem.environment.Cell;
+import net.splitcells.dem.environment.Environment;
+import net.splitcells.network.worker.via.java.NetworkWorkerLogFileSystem;
+import net.splitcells.website.server.ServerConfig;
+
+import static net.splitcells.network.distro.java.ShutdownCoordinator.globalShutdownCoordinator;
+import static net.splitcells.network.distro.java.h2.LogStore.logStore;
+import static net.splitcells.network.distro.java.h2.LogStorePages.logStorePages;
+
+/**
+ * <p>Ingests the worker logs into a {@link LogStore} and serves these via {@link LogStorePages}.
+ * The network logs are not ingested separately,
+ * because these are redirected to the worker logs by {@link net.splitcells.network.distro.java.DistroCell}.</p>
+ * <p>This starts the {@link H2DatabaseCell}, if it is not started yet.</p>
+ */
+public class LogStoreCell implements Cell {
+    @Override public String groupId() {
+        return "net.splitcells";
+    }
+
+    @Override public String artifactId() {
+        return "network.distro.java";
+    }
+
+    @Override public void accept(Environment env) {
+        env.withCell(H2DatabaseCell.class);
+        final var database = env.config().configValue(CurrentH2Database.class).orElseThrow();
+        final var store = logStore(database, env.config().configValue(NetworkWorkerLogFileSystem.class))
+                .start(env.config().configValue(LogStoreIngestionInterval.class));
+        globalShutdownCoordinator().register("Stop log ingestion.", store::close);
+        env.config().configValue(ServerConfig.class)
+                .withAdditionalProjectsRendererExtension(logStorePages(store
+                        , env.config().configValue(LogStorePageSize.class)));
+    }
+}
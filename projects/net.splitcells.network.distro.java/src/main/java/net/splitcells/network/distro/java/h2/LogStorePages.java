@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.h2;
+
+import net.splitcells.dem.data.set.Set;
+import net.splitcells.dem.utils.StringUtils;
+import net.splitcells.website.Format;
+import net.splitcells.website.server.Config;
+import net.splitcells.website.server.processor.BinaryMessage;
+import net.splitcells.website.server.projects.ProjectsRendererI;
+import net.splitcells.website.server.projects.RenderRequest;
+import net.splitcells.website.server.projects.extension.ProjectsRendererExtension;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+import static net.splitcells.dem.data.set.Sets.setOfUniques;
+
+/**
+ * <p>Provides the entries of the {@link LogStore} as CSV pages, from the newest to the oldest entry.
+ * The pages are located at {@link #PATH} and have the following paths:</p>
+ * <ul>
+ *     <li>`latest.csv` contains the newest entries.</li>
+ *     <li>`before/{id}.csv` contains the newest entries, whose id is lower than the given one.
+ *     The next page is therefore located at the id of the last entry of the current page.</li>
+ *     <li>`level/{level}/...` and `worker/{worker}/...` only contain entries with the given level or worker
+ *     and support the same page paths.
+ *     The level and worker are URL encoded.</li>
+ *     <li>`since/{time}/...` and `until/{time}/...` only contain entries logged at or after
+ *     and before the given time, which is an ISO-8601 instant like `2024-01-01T10:00:00Z`.</li>
+ *     <li>These filters can be combined, like `level/ERROR/since/{time}/latest.csv`.</li>
+ * </ul>
+ * <p>Like the log projects, that are ingested into the {@link LogStore}, no authentication is required.</p>
+ */
+public class LogStorePages implements ProjectsRendererExtension {
+    public static LogStorePages logStorePages(LogStore logStore, int pageSize) {
+        return new LogStorePages(logStore, pageSize);
+    }
+
+    private static final String PATH = "/net/splitcells/network/distro/java/log-store/";
+    private static final String LATEST = "latest.csv";
+    private static final String BEFORE = "before/";
+    private static final String CSV_SUFFIX = ".csv";
+    private static final String LEVEL = "level/";
+    private static final String WORKER = "worker/";
+    private static final String SINCE = "since/";
+    private static final String UNTIL = "until/";
+    private static final List<String> FILTERS = List.of(LEVEL, WORKER, SINCE, UNTIL);
+
+    private final LogStore logStore;
+    private final int pageSize;
+
+    private LogStorePages(LogStore logStore, int pageSize) {
+        this.logStore = logStore;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public Optional<BinaryMessage> renderFile(String path, ProjectsRendererI projectsRenderer, Config config) {
+        if (!path.startsWith(PATH)) {
+            return Optional.empty();
+        }
+        var page = path.substring(PATH.length());
+        Optional<String> level = Optional.empty();
+        Optional<String> worker = Optional.empty();
+        Optional<Instant> since = Optional.empty();
+        Optional<Instant> until = Optional.empty();
+        while (FILTERS.stream().anyMatch(page::startsWith)) {
+            final var filterStart = page.indexOf('/') + 1;
+            final var filterEnd = page.indexOf('/', filterStart);
+            if (filterEnd < 0) {
+                return Optional.empty();
+            }
+            final var filterValue = URLDecoder.decode(page.substring(filterStart, filterEnd), StandardCharsets.UTF_8);
+            try {
+                if (page.startsWith(LEVEL)) {
+                    level = Optional.of(filterValue);
+                } else if (page.startsWith(WORKER)) {
+                    worker = Optional.of(filterValue);
+                } else if (page.startsWith(SINCE)) {
+                    since = Optional.of(Instant.parse(filterValue));
+                } else {
+                    until = Optional.of(Instant.parse(filterValue));
+                }
+            } catch (DateTimeParseException e) {
+                return Optional.empty();
+            }
+            page = page.substring(filterEnd + 1);
+        }
+        final Optional<Long> before;
+        if (page.equals(LATEST)) {
+            before = Optional.empty();
+        } else if (page.startsWith(BEFORE) && page.endsWith(CSV_SUFFIX)) {
+            try {
+                before = Optional.of(Long.parseLong(page.substring(BEFORE.length(), page.length() - CSV_SUFFIX.length())));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        } else {
+            return Optional.empty();
+        }
+        final var csv = new StringBuilder("id,time,level,worker,source,line,message\n");
+        logStore.page(level, worker, since, until, before, pageSize).forEach(entry -> {
+            csv.append(entry.id()).append(',')
+                    .append(entry.loggedAt()).append(',');
+            appendCsvValue(csv, entry.level());
+            csv.append(',');
+            appendCsvValue(csv, entry.worker());
+            csv.append(',');
+            appendCsvValue(csv, entry.source());
+            csv.append(',').append(entry.lineNumber()).append(',');
+            appendCsvValue(csv, entry.message());
+            csv.append('\n');
+        });
+        return Optional.of(BinaryMessage.binaryMessage(StringUtils.toBytes(csv.toString()), Format.CSV));
+    }
+
+    @Override
+    public boolean requiresAuthentication(RenderRequest request) {
+        return false;
+    }
+
+    @Override
+    public Set<Path> projectPaths(ProjectsRendererI projectsRenderer) {
+        return setOfUniques(Path.of(PATH.substring(1) + LATEST));
+    }
+
+    private static void appendCsvValue(StringBuilder csv, String value) {
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro.java.h2;
+
+import net.splitcells.dem.testing.annotations.UnitTest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static net.splitcells.dem.testing.Assertions.requireEquals;
+import static net.splitcells.network.distro.java.MapFileSystemView.mapFileSystemView;
+import static net.splitcells.network.distro.java.h2.H2Database.h2Database;
+import static net.splitcells.network.distro.java.h2.LogStore.logStore;
+import static net.splitcells.network.distro.java.h2.LogStorePages.logStorePages;
+
+public class LogStoreTest {
+    /**
+     * Only new complete lines are ingested, so that a line, that is currently written, is not split.
+     */
+    @UnitTest
+    public void testIngestion() {
+        final var files = new ConcurrentHashMap<String, String>();
+        try (final var database = h2Database("jdbc:h2:mem:logStoreTestIngestion", 2, 1024, 16)) {
+            final var testSubject = logStore(database, mapFileSystemView(files));
+            files.put("worker-a/log.md", "2024-01-01 10:00:00 INFO first\n2024-01-01 10:00:01 ERROR second\nthi");
+            requireEquals(testSubject.ingest(), 2L);
+            files.put("worker-a/log.md", files.get("worker-a/log.md") + "rd\nfourth\n");
+            requireEquals(testSubject.ingest(), 2L);
+            requireEquals(testSubject.ingest(), 0L);
+            final var entries = testSubject.page(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()
+                    , Optional.empty(), 10);
+            requireEquals(messages(entries), List.of("fourth", "third"
+                    , "2024-01-01 10:00:01 ERROR second", "2024-01-01 10:00:00 INFO first"));
+            requireEquals(entries.get(0).lineNumber(), 4);
+            requireEquals(entries.get(2).level(), "ERROR");
+            requireEquals(entries.get(2).worker(), "worker-a");
+        }
+    }
+
+    /**
+     * A file, that got shorter, was replaced, like it is done during a log rotation,
+     * and is therefore ingested again.
+     */
+    @UnitTest
+    public void testShrinkingFile() {
+        final var files = new ConcurrentHashMap<String, String>();
+        try (final var database = h2Database("jdbc:h2:mem:logStoreTestShrinkingFile", 2, 1024, 16)) {
+            final var testSubject = logStore(database, mapFileSystemView(files));
+            files.put("worker-a/log.md", "first\nsecond\nthird\n");
+            requireEquals(testSubject.ingest(), 3L);
+            files.put("worker-a/log.md", "new\n");
+            requireEquals(testSubject.ingest(), 1L);
+            final var entries = testSubject.page(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()
+                    , Optional.empty(), 10);
+            requireEquals(messages(entries), List.of("new"));
+            requireEquals(entries.get(0).lineNumber(), 1);
+        }
+    }
+
+    @UnitTest
+    public void testPagination() {
+        final var files = new ConcurrentHashMap<String, String>();
+        try (final var database = h2Database("jdbc:h2:mem:logStoreTestPagination", 2, 1024, 16)) {
+            final var testSubject = logStore(database, mapFileSystemView(files));
+            files.put("worker a/log.md", "INFO 1\nERROR 2\nINFO 3\nERROR 4\nINFO 5\n");
+            files.put("worker-b/log.md", "ERROR 6\n");
+            testSubject.ingest();
+            final var firstPage = testSubject.page(Optional.of("ERROR"), Optional.of("worker a")
+                    , Optional.empty(), Optional.empty(), Optional.empty(), 1);
+            requireEquals(messages(firstPage), List.of("ERROR 4"));
+            final var secondPage = testSubject.page(Optional.of("ERROR"), Optional.of("worker a")
+                    , Optional.empty(), Optional.empty(), Optional.of(firstPage.get(0).id()), 1);
+            requireEquals(messages(secondPage), List.of("ERROR 2"));
+            requireEquals(testSubject.page(Optional.of("ERROR"), Optional.of("worker a")
+                    , Optional.empty(), Optional.empty(), Optional.of(secondPage.get(0).id()), 1), List.of());
+            final var pages = logStorePages(testSubject, 10);
+            final var csv = new String(pages
+                    .renderFile("/net/splitcells/network/distro/java/log-store/worker/worker%20a/latest.csv", null, null)
+                    .orElseThrow()
+                    .getContent(), StandardCharsets.UTF_8);
+            requireEquals(csv.lines().count(), 6L);
+        }
+    }
+
+    /**
+     * The time range includes its start and excludes its end.
+     */
+    @UnitTest
+    public void testTimeRange() {
+        final var files = new ConcurrentHashMap<String, String>();
+        try (final var database = h2Database("jdbc:h2:mem:logStoreTestTimeRange", 2, 1024, 16)) {
+            final var testSubject = logStore(database, mapFileSystemView(files));
+            files.put("worker-a/log.md", "2024-01-01 10:00:00 INFO 1\n2024-01-01 11:00:00 INFO 2\n"
+                    + "2024-01-01 12:00:00 INFO 3\n2024-01-01 13:00:00 INFO 4\n");
+            testSubject.ingest();
+            final var since = Timestamp.valueOf("2024-01-01 11:00:00").toInstant();
+            final var until = Timestamp.valueOf("2024-01-01 13:00:00").toInstant();
+            requireEquals(messages(testSubject.page(Optional.empty(), Optional.empty()
+                            , Optional.of(since), Optional.of(until), Optional.empty(), 10))
+                    , List.of("2024-01-01 12:00:00 INFO 3", "2024-01-01 11:00:00 INFO 2"));
+            requireEquals(messages(testSubject.page(Optional.empty(), Optional.empty()
+                            , Optional.of(until), Optional.empty(), Optional.empty(), 10))
+                    , List.of("2024-01-01 13:00:00 INFO 4"));
+            final var pages = logStorePages(testSubject, 10);
+            final var csv = new String(pages
+                    .renderFile("/net/splitcells/network/distro/java/log-store/since/" + since
+                            + "/until/" + until + "/latest.csv", null, null)
+                    .orElseThrow()
+                    .getContent(), StandardCharsets.UTF_8);
+            requireEquals(csv.lines().count(), 3L);
+            requireEquals(pages.renderFile("/net/splitcells/network/distro/java/log-store/since/yesterday/latest.csv"
+                    , null, null), Optional.empty());
+        }
+    }
+
+    private static List<String> messages(List<LogStore.LogEntry> entries) {
+        return entries.stream().map(LogStore.LogEntry::message).collect(Collectors.toList());
+    }
+}
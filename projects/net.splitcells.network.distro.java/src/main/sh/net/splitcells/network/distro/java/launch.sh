@@ -2,4 +2,13 @@
 # SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
 # SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
 set -e
-jre/bin/java -cp './deployable-jars/*' net.splitcells.network.distro.java.DistroGuiLauncher
\ No newline at end of file
+# The class data sharing archive is created during the first start and speeds up later starts.
+# It is recreated automatically, if the jars or the JRE change.
+# -XX:+AutoCreateSharedArchive requires Java 19 or newer.
+# Older JREs ignore the options, as these are not supported there.
+# This is the case for the flatpak, whose JRE is OpenJDK 11, so that no archive is created there.
+archiveFolder="${XDG_CACHE_HOME:-$HOME/.cache}/net.splitcells.network.distro"
+mkdir -p "$archiveFolder"
+jre/bin/java -XX:+IgnoreUnrecognizedVMOptions \
+  -XX:+AutoCreateSharedArchive -XX:SharedArchiveFile="$archiveFolder/launcher.jsa" \
+  -cp './deployable-jars/*' net.splitcells.network.distro.java.DistroGuiLauncher
\ No newline at end of file
@@ -30,6 +30,7 @@ import net.splitcells.website.server.WebsiteServerCell;
 
 import static net.splitcells.dem.Dem.configValue;
 import static net.splitcells.dem.Dem.serve;
+import static net.splitcells.network.distro.java.StartupProfiler.startupProfiler;
 import static net.splitcells.website.server.ProjectConfig.projectConfig;
 
 public class DistroCell implements Cell {
@@ -49,8 +50,11 @@ public class DistroCell implements Cell {
 
     @Override
     public void accept(Environment env) {
-        env.withCell(net.splitcells.network.distro.java.DistroCell.class);
-        env.config().configValue(ServerConfig.class)
-                .withAdditionalProject(projectConfig("/", configValue(NetworkDistroFileSystem.class)));
+        startupProfiler().phase("network.distro.DistroCell", () -> {
+            env.withCell(net.splitcells.network.distro.java.DistroCell.class);
+            env.config().configValue(ServerConfig.class)
+                    .withAdditionalProject(projectConfig("/", startupProfiler()
+                            .phase("Resolve NetworkDistroFileSystem", () -> configValue(NetworkDistroFileSystem.class))));
+        });
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021 Contributors To The `net.splitcells.*` Projects
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License v2.0 or later
+ * which is available at https://www.gnu.org/licenses/old-licenses/gpl-2.0-standalone.html
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+ * SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+ */
+package net.splitcells.network.distro;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static net.splitcells.dem.Dem.serve;
+import static net.splitcells.network.distro.java.ReadinessProbe.globalReadinessProbe;
+import static net.splitcells.network.distro.java.ReadinessProbe.reportingStartupFailures;
+import static net.splitcells.network.distro.java.StartupStatus.globalStartupStatus;
+
+/**
+ * <p>Starts the {@link DistroCell}, waits until the server answered its first request and exits thereafter.
+ * This is used by the `Dockerfile-For-Server` in order to create a class data sharing archive via `-XX:ArchiveClassesAtExit`,
+ * which contains the classes loaded during the startup.
+ * Later starts with `-XX:SharedArchiveFile` load these classes from the archive,
+ * instead of loading and verifying these from the jars again.</p>
+ * <p>The address of the server and its generated certificate are provided to the
+ * {@link net.splitcells.network.distro.java.ReadinessProbe} by the server itself.
+ * The training run fails, if the startup fails.</p>
+ * <p>The training run should not be executed in the working directory or home folder of the real server,
+ * because the startup creates the config and data files of the server.</p>
+ */
+public class DistroTrainingRun {
+    private static final long TIMEOUT_IN_MINUTES = 10;
+
+    public static void main(String... args) throws InterruptedException {
+        final var completed = new CountDownLatch(1);
+        globalStartupStatus().addListener((message, isReady) -> {
+            System.out.println(message);
+            if (isReady || globalStartupStatus().isFailed()) {
+                completed.countDown();
+            }
+        });
+        globalReadinessProbe().start();
+        final var server = reportingStartupFailures(new Thread(() -> serve(DistroCell.class), "Distro server"));
+        server.setDaemon(true);
+        server.start();
+        if (!completed.await(TIMEOUT_IN_MINUTES, TimeUnit.MINUTES)) {
+            System.err.println("The server was not ready in time.");
+            System.exit(1);
+        }
+        if (globalStartupStatus().isFailed()) {
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
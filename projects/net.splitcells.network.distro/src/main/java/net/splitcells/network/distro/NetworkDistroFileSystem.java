@@ -17,11 +17,20 @@ package net.splitcells.network.distro;
 
 import net.splitcells.dem.environment.config.framework.OptionImpl;
 import net.splitcells.dem.resource.FileSystemView;
+import net.splitcells.network.distro.java.MemoryMappedClassResources;
 
+import static net.splitcells.dem.Dem.configValue;
 import static net.splitcells.dem.resource.FileSystemViaClassResources.fileSystemViaClassResources;
+import static net.splitcells.network.distro.java.MappedFileSystemView.mappedFileSystemView;
 
 public class NetworkDistroFileSystem extends OptionImpl<FileSystemView> {
     public NetworkDistroFileSystem() {
-        super(() -> fileSystemViaClassResources(NetworkDistroFileSystem.class, "net.splitcells", "network.distro"));
+        super(() -> {
+            final var classResources = fileSystemViaClassResources(NetworkDistroFileSystem.class, "net.splitcells", "network.distro");
+            if (configValue(MemoryMappedClassResources.class)) {
+                return mappedFileSystemView(classResources);
+            }
+            return classResources;
+        });
     }
 }
@@ -0,0 +1,33 @@
+#!/usr/bin/env sh
+# SPDX-License-Identifier: EPL-2.0 OR GPL-2.0-or-later
+# SPDX-FileCopyrightText: Contributors To The `net.splitcells.*` Projects
+# Creates a Java runtime image, that only contains the JDK modules required by the given jars.
+# Usage: create-runtime-image.sh [output folder] [jar or folder of jars]...
+# The required modules are computed via jdeps.
+# The script targets JDK 21, which is used to build the runtime image of the server.
+# Modules, that are only loaded as services or via reflection, are not found by jdeps and are therefore added explicitly.
+set -e
+runtimeFolder="$1"
+shift
+jars=""
+for path in "$@"; do
+  if [ -d "$path" ]; then
+    for jar in "$path"/*.jar; do
+      jars="$jars $jar"
+    done
+  else
+    jars="$jars $path"
+  fi
+done
+classPath=$(echo $jars | tr ' ' ':')
+modules=$(jdeps --ignore-missing-deps --multi-release 21 --print-module-deps --class-path "$classPath" $jars)
+additionalModules="jdk.crypto.ec,jdk.charsets,jdk.localedata,jdk.naming.dns,jdk.zipfs,jdk.unsupported,jdk.jfr"
+echo "Creating runtime image with the following modules: $modules,$additionalModules"
+rm -rf "$runtimeFolder"
+jlink --add-modules "$modules,$additionalModules" \
+  --strip-debug \
+  --no-header-files \
+  --no-man-pages \
+  --compress=zip-6 \
+  --generate-cds-archive \
+  --output "$runtimeFolder"